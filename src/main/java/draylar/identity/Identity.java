@@ -8,6 +8,7 @@ import draylar.identity.registry.Commands;
 import draylar.identity.registry.Components;
 import draylar.identity.registry.EntityTags;
 import draylar.identity.registry.EventHandlers;
+import draylar.identity.registry.IdentityTraits;
 import io.github.ladysnake.pal.AbilitySource;
 import io.github.ladysnake.pal.Pal;
 import me.sargunvohra.mcmods.autoconfig1u.AutoConfig;
@@ -15,12 +16,11 @@ import me.sargunvohra.mcmods.autoconfig1u.serializer.JanksonConfigSerializer;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.player.UseItemCallback;
 import net.minecraft.advancement.Advancement;
-import net.minecraft.advancement.AdvancementProgress;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.mob.GuardianEntity;
-import net.minecraft.entity.mob.WaterCreatureEntity;
 import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.ServerAdvancementLoader;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.TypedActionResult;
@@ -31,6 +31,8 @@ public class Identity implements ModInitializer {
 
     public static final IdentityConfig CONFIG = AutoConfig.register(IdentityConfig.class, JanksonConfigSerializer::new).getConfig();
     public static final AbilitySource ABILITY_SOURCE = Pal.getAbilitySource(id("equipped_identity"));
+    private static ServerAdvancementLoader flightAdvancementSource = null;
+    private static Advancement[] flightAdvancements = new Advancement[0];
 
     @Override
     public void onInitialize() {
@@ -45,36 +47,86 @@ public class Identity implements ModInitializer {
         return new Identifier("identity", name);
     }
 
+    /**
+     * Returns whether the given player may fly with their current identity.
+     *
+     * <p>The result is cached on the player's {@link draylar.identity.cca.IdentityComponent} and only recomputed after
+     * identity changes, progress on a flight advancement, or a datapack reload.
+     *
+     * @param player  player to check
+     * @return whether the player's identity grants flight
+     */
     public static boolean hasFlyingPermissions(ServerPlayerEntity player) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
+        return Components.CURRENT_IDENTITY.get(player).isFlightEligible();
+    }
 
-        if(identity != null && Identity.CONFIG.enableFlight && EntityTags.FLYING.contains(identity.getType())) {
-            List<String> requiredAdvancements = CONFIG.advancementsRequiredForFlight;
+    /**
+     * Computes whether the given player may fly with their current identity, bypassing the cache used by {@link Identity#hasFlyingPermissions(ServerPlayerEntity)}.
+     *
+     * @param player  player to check
+     * @return whether the player's identity grants flight
+     */
+    public static boolean computeFlyingPermissions(ServerPlayerEntity player) {
+        LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
 
-            // requires at least 1 advancement, check if player has them
-            if (!requiredAdvancements.isEmpty()) {
+        if(Identity.CONFIG.enableFlight && IdentityTraits.has(identity, IdentityTraits.FLYING)) {
+            // requires every configured advancement, check if player has them
+            for (Advancement advancement : getFlightAdvancements(player.server)) {
+                // advancements that do not exist (anymore) can never be completed
+                if (advancement == null || !player.getAdvancementTracker().getProgress(advancement).isDone()) {
+                    return false;
+                }
+            }
 
-                boolean hasPermission = true;
-                for (String requiredAdvancement : requiredAdvancements) {
-                    Advancement advancement = player.server.getAdvancementLoader().get(new Identifier(requiredAdvancement));
-                    AdvancementProgress progress = player.getAdvancementTracker().getProgress(advancement);
+            return true;
+        }
 
-                    if (!progress.isDone()) {
-                        hasPermission = false;
-                    }
-                }
+        return false;
+    }
 
-                return hasPermission;
+    /**
+     * @param server       server to resolve advancements against
+     * @param advancement  advancement to check
+     * @return whether the given advancement is one of the advancements required for flight
+     */
+    public static boolean isFlightAdvancement(MinecraftServer server, Advancement advancement) {
+        for (Advancement required : getFlightAdvancements(server)) {
+            if (required == advancement) {
+                return true;
             }
+        }
+
+        return false;
+    }
 
+    /**
+     * Returns the advancements listed in {@link IdentityConfig#advancementsRequiredForFlight}.
+     *
+     * <p>The lookup is only repeated when the server replaces its advancement loader, which happens on every datapack reload.
+     * Entries that do not resolve to an advancement are null.
+     *
+     * @param server  server to resolve advancements against
+     * @return advancements required for flight
+     */
+    private static Advancement[] getFlightAdvancements(MinecraftServer server) {
+        ServerAdvancementLoader loader = server.getAdvancementLoader();
+
+        if (flightAdvancementSource != loader) {
+            List<String> required = CONFIG.advancementsRequiredForFlight;
+            Advancement[] resolved = new Advancement[required.size()];
+
+            for (int i = 0; i < required.size(); i++) {
+                resolved[i] = loader.get(new Identifier(required.get(i)));
+            }
 
-            return true;
+            flightAdvancements = resolved;
+            flightAdvancementSource = loader;
         }
 
-        return false;
+        return flightAdvancements;
     }
 
     public static boolean isAquatic(LivingEntity entity) {
-        return entity instanceof WaterCreatureEntity || entity instanceof GuardianEntity;
+        return IdentityTraits.has(entity, IdentityTraits.AQUATIC);
     }
 }
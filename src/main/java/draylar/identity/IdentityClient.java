@@ -5,12 +5,15 @@ import draylar.identity.ability.AbilityRegistry;
 import draylar.identity.api.model.EntityUpdaters;
 import draylar.identity.network.ClientNetworking;
 import draylar.identity.registry.Components;
+import draylar.identity.screen.IdentityPrototypes;
 import draylar.identity.screen.IdentityScreen;
+import draylar.identity.screen.IdentityThumbnails;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.options.KeyBinding;
 import net.minecraft.client.util.InputUtil;
@@ -44,6 +47,13 @@ public class IdentityClient implements ClientModInitializer {
         ClientNetworking.init();
         AbilityOverlayRenderer.register();
 
+        // menu prototypes reference the client world, drop them when leaving it, and free the thumbnail atlas on the render thread
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            IdentityPrototypes.clear();
+            client.execute(IdentityThumbnails::clear);
+        });
+        ClientTickEvents.END_CLIENT_TICK.register(IdentityThumbnails::tick);
+
         // add screen opening key-bind
         ClientTickEvents.START_CLIENT_TICK.register(client -> {
             assert client.player != null;
@@ -1,16 +1,23 @@
 package draylar.identity.cca;
 
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
-import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import draylar.identity.network.ComponentSyncQueue;
 import draylar.identity.registry.Components;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
 
-public class AbilityComponent implements AutoSyncedComponent, ServerTickingComponent {
+/**
+ * Tracks the ability cooldown of a {@link PlayerEntity}.
+ *
+ * <p>The cooldown is stored as the world time at which the ability becomes usable again.
+ * The server only syncs when a cooldown starts, and both sides derive the remaining ticks from the current world time.
+ */
+public class AbilityComponent implements BatchSyncedComponent {
 
     private static final String ABILITY_COOLDOWN_KEY = "AbilityCooldown";
     private final PlayerEntity player;
-    private int cooldown = 0;
+    private long cooldownEnd = 0;
 
     public AbilityComponent(PlayerEntity player) {
 
@@ -19,29 +26,56 @@ public class AbilityComponent implements AutoSyncedComponent, ServerTickingCompo
 
     @Override
     public void readFromNbt(CompoundTag tag) {
-        this.cooldown = tag.getInt(ABILITY_COOLDOWN_KEY);
+        // saved as remaining ticks, so the player file stays valid when loaded into a world or server with a different clock
+        int remaining = tag.getInt(ABILITY_COOLDOWN_KEY);
+        this.cooldownEnd = remaining > 0 ? getWorldTime() + remaining : 0;
     }
 
     @Override
     public void writeToNbt(CompoundTag tag) {
-        tag.putInt(ABILITY_COOLDOWN_KEY, cooldown);
+        tag.putInt(ABILITY_COOLDOWN_KEY, getCooldown());
     }
 
+    /**
+     * The cooldown is only displayed by the owner's {@link draylar.identity.ability.AbilityOverlayRenderer}, so watchers never receive it.
+     */
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        return player == this.player && !ComponentSyncQueue.receivedHandshake(player);
+    }
+
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        buf.writeVarLong(cooldownEnd);
+    }
+
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        this.cooldownEnd = buf.readVarLong();
+    }
+
+    /**
+     * Starts a cooldown of the given length, in ticks, and syncs its expiry time with the client.
+     *
+     * @param cooldown  cooldown length in ticks
+     */
     public void setCooldown(int cooldown) {
-        this.cooldown = cooldown;
-        Components.ABILITY.sync(this.player);
+        this.cooldownEnd = getWorldTime() + cooldown;
+        ComponentSyncQueue.markDirty(this.player, Components.ABILITY);
     }
 
+    /**
+     * @return  remaining cooldown in ticks, or 0 if the ability can be used
+     */
     public int getCooldown() {
-        return cooldown;
+        return (int) Math.max(0, cooldownEnd - getWorldTime());
     }
 
     public boolean canUseAbility() {
-        return cooldown <= 0;
+        return getCooldown() <= 0;
     }
 
-    @Override
-    public void serverTick() {
-        setCooldown(Math.max(0, getCooldown() - 1));
+    private long getWorldTime() {
+        return player.world.getTime();
     }
 }
@@ -0,0 +1,41 @@
+package draylar.identity.cca;
+
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import draylar.identity.network.ComponentSyncQueue;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * An {@link AutoSyncedComponent} whose changes are collected by {@link ComponentSyncQueue} and sent once at the end of the server tick.
+ *
+ * <p>Batched packets are read on the client through {@link AutoSyncedComponent#applySyncPacket(PacketByteBuf)},
+ * so implementations must write data in the same format as {@link AutoSyncedComponent#writeSyncPacket(PacketByteBuf, ServerPlayerEntity)}.
+ * The batch-specific methods only exist for components that write something different (such as a delta) when flushed from the queue.
+ */
+public interface BatchSyncedComponent extends AutoSyncedComponent {
+
+    /**
+     * @param recipient  player that would receive the batched packet
+     * @return whether the pending changes of this component should be sent to the given player
+     */
+    default boolean shouldBatchSyncWith(ServerPlayerEntity recipient) {
+        return shouldSyncWith(recipient);
+    }
+
+    /**
+     * Writes the pending changes of this component into a batched sync packet.
+     *
+     * @param buf        batched packet data
+     * @param recipient  player receiving the packet
+     */
+    default void writeBatchSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        writeSyncPacket(buf, recipient);
+    }
+
+    /**
+     * Called once the pending changes of this component have been sent to every recipient.
+     */
+    default void onBatchSynced() {
+        // NO-OP
+    }
+}
@@ -1,6 +1,7 @@
 package draylar.identity.cca;
 
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import draylar.identity.network.ComponentSyncQueue;
+import draylar.identity.network.EntityTypePalette;
 import draylar.identity.registry.Components;
 import net.fabricmc.fabric.api.util.NbtType;
 import net.minecraft.entity.EntityType;
@@ -8,13 +9,15 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class FavoriteIdentitiesComponent implements AutoSyncedComponent {
+public class FavoriteIdentitiesComponent implements BatchSyncedComponent {
 
     private final PlayerEntity player;
     private final List<Identifier> favorites = new ArrayList<>();
@@ -26,7 +29,7 @@ public class FavoriteIdentitiesComponent implements AutoSyncedComponent {
     public void favorite(Identifier id) {
         if(!favorites.contains(id)) {
             this.favorites.add(id);
-            Components.FAVORITE_IDENTITIES.sync(this.player);
+            ComponentSyncQueue.markDirty(this.player, Components.FAVORITE_IDENTITIES);
         }
     }
 
@@ -48,7 +51,49 @@ public class FavoriteIdentitiesComponent implements AutoSyncedComponent {
     public void unfavorite(Identifier id) {
         if(favorites.contains(id)) {
             this.favorites.remove(id);
-            Components.FAVORITE_IDENTITIES.sync(this.player);
+            ComponentSyncQueue.markDirty(this.player, Components.FAVORITE_IDENTITIES);
+        }
+    }
+
+    /**
+     * Favorites only affect the owner's menu ordering and are not sent to watchers.
+     */
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        return player == this.player && !ComponentSyncQueue.receivedHandshake(player);
+    }
+
+    /**
+     * Writes the favorites as a VarInt count followed by the raw registry ID of each entry.
+     *
+     * <p>Entries that are missing from the registry (eg. from a removed mod) stay in save data, but are not sent.
+     */
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        int count = 0;
+        for (Identifier id : favorites) {
+            if (Registry.ENTITY_TYPE.containsId(id)) {
+                count++;
+            }
+        }
+
+        buf.writeVarInt(count);
+        for (Identifier id : favorites) {
+            Registry.ENTITY_TYPE.getOrEmpty(id).ifPresent(type -> buf.writeVarInt(Registry.ENTITY_TYPE.getRawId(type)));
+        }
+    }
+
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        favorites.clear();
+        int count = buf.readVarInt();
+
+        for (int i = 0; i < count; i++) {
+            EntityType<?> type = EntityTypePalette.fromServerId(buf.readVarInt());
+
+            if (type != null) {
+                favorites.add(Registry.ENTITY_TYPE.getId(type));
+            }
         }
     }
 
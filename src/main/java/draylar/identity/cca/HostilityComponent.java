@@ -1,19 +1,22 @@
 package draylar.identity.cca;
 
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import draylar.identity.impl.IdentityHolder;
+import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundTag;
 
 public class HostilityComponent implements ServerTickingComponent {
 
+    private final PlayerEntity player;
     private int remainingTime = 0;
 
-    public HostilityComponent() {
-
+    public HostilityComponent(PlayerEntity player) {
+        this.player = player;
     }
 
     @Override
     public void readFromNbt(CompoundTag tag) {
-        this.remainingTime = tag.getInt("RemainingTime");
+        setHostility(tag.getInt("RemainingTime"));
     }
 
     @Override
@@ -28,12 +31,14 @@ public class HostilityComponent implements ServerTickingComponent {
      */
     public void setHostility(int time) {
         this.remainingTime = time;
+        ((IdentityHolder) player).identity_setHostility(hasHostility());
     }
 
     /**
      * Returns whether the player this component is attached to will be targeted by hostile mobs, regardless of Identity.
      *
      * <p>Hostility works on a timer, and is set when the player attacks a hostile mob.
+     * The current value is mirrored onto the player through {@link IdentityHolder#identity_hasHostility()}.
      *
      * @return  whether this component's player will be targeted by hostile mobs, regardless of Identity
      */
@@ -46,6 +51,8 @@ public class HostilityComponent implements ServerTickingComponent {
      */
     @Override
     public void serverTick() {
-        remainingTime = Math.max(0, remainingTime - 1);
+        if (remainingTime > 0) {
+            setHostility(remainingTime - 1);
+        }
     }
 }
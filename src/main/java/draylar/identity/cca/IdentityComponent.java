@@ -1,14 +1,19 @@
 package draylar.identity.cca;
 
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
 import draylar.identity.Identity;
 import draylar.identity.impl.DimensionsRefresher;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.impl.IdentityPool;
 import draylar.identity.mixin.EntityAccessor;
 import draylar.identity.mixin.LivingEntityAccessor;
+import draylar.identity.network.ComponentSyncQueue;
+import draylar.identity.network.EntityTypePalette;
 import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.registry.IdentityTraits;
 import io.github.ladysnake.pal.VanillaAbilities;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPose;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
@@ -20,9 +25,13 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.vehicle.BoatEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.registry.Registry;
+import net.minecraft.world.World;
 
 import java.util.Optional;
 
@@ -31,11 +40,61 @@ import java.util.Optional;
  *
  * <p>{@link IdentityComponent#identity} being null represents "no identity," and accessors should check for this before using the field.
  */
-public class IdentityComponent implements AutoSyncedComponent, ServerTickingComponent {
+public class IdentityComponent implements BatchSyncedComponent, ServerTickingComponent {
+
+    // sync header flags: which fields follow in the packet
+    private static final int POSE = 1;
+    private static final int SNEAKING = 1 << 1;
+    private static final int SWIMMING = 1 << 2;
+    private static final int FALL_FLYING = 1 << 3;
+    private static final int STUCK_ARROWS = 1 << 4;
+    private static final int ACTIVE_HAND = 1 << 5;
+    private static final int FULL_SYNC = 1 << 6;
+    private static final int ALL_FIELDS = POSE | SNEAKING | SWIMMING | FALL_FLYING | STUCK_ARROWS | ACTIVE_HAND;
+    private static final int STATE_FIELDS = SNEAKING | SWIMMING | FALL_FLYING | ACTIVE_HAND;
+
+    // bit-packed values of the boolean/hand fields, written as a single byte
+    private static final int SNEAKING_BIT = 1;
+    private static final int SWIMMING_BIT = 1 << 1;
+    private static final int FALL_FLYING_BIT = 1 << 2;
+    private static final int OFF_HAND_BIT = 1 << 3;
+
+    // ticks between forced environment re-samples for a player that stays in the same block
+    private static final int HAZARD_SAMPLE_INTERVAL = 20;
 
     private final PlayerEntity player;
     private LivingEntity identity = null;
 
+    // whether the identity was loaded from NBT, which carries state (health, effects, names, ...) that must not reach the shared pool
+    private boolean identityLoaded = false;
+
+    // last player-mirrored state sent to clients, used to build delta packets in tickIdentity
+    private EntityPose syncedPose = EntityPose.STANDING;
+    private boolean syncedSneaking = false;
+    private boolean syncedSwimming = false;
+    private boolean syncedFallFlying = false;
+    private int syncedStuckArrows = 0;
+    private Hand syncedActiveHand = Hand.MAIN_HAND;
+
+    // fields changed since the last sync to far watchers; near watchers receive the same mask on every change
+    private int pendingMask = 0;
+    private boolean farSyncDue = false;
+    private boolean fullSyncPending = false;
+
+    // cached result of Identity#computeFlyingPermissions, see isFlightEligible
+    private boolean flightEligible = false;
+    private boolean flightEligibilityKnown = false;
+
+    // environment sampled for daylight burning and heat damage, see sampleHazards
+    private World hazardWorld = null;
+    private long hazardBlockPos = Long.MIN_VALUE;
+    private int hazardRoundedY = Integer.MIN_VALUE;
+    private int hazardEyeY = Integer.MIN_VALUE;
+    private boolean hazardInBoat = false;
+    private float hazardBrightness = 0;
+    private boolean hazardSkyVisible = false;
+    private float hazardTemperature = 0;
+
     public IdentityComponent(PlayerEntity player) {
         this.player = player;
     }
@@ -60,7 +119,10 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
      * @param identity {@link LivingEntity} new identity for this component, or null to clear
      */
     public void setIdentity(LivingEntity identity) {
-        this.identity = identity;
+        LivingEntity previous = this.identity;
+        boolean previousLoaded = this.identityLoaded;
+        updateIdentity(identity);
+        identityLoaded = false;
 
         // refresh entity hitbox dimensions
         ((DimensionsRefresher) player).identity_refreshDimensions();
@@ -84,21 +146,99 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
         }
 
         // If the player is riding a Ravager and changes into an Identity that cannot ride Ravagers, kick them off.
-        if (player.getVehicle() instanceof RavagerEntity && (identity == null || !EntityTags.RAVAGER_RIDING.contains(identity.getType()))) {
+        if (player.getVehicle() instanceof RavagerEntity && !IdentityTraits.has(identity, IdentityTraits.RAVAGER_RIDING)) {
             player.stopRiding();
         }
 
         // sync with client
-        Components.CURRENT_IDENTITY.sync(this.player);
+        fullSyncPending = true;
+        ComponentSyncQueue.markDirty(this.player, Components.CURRENT_IDENTITY);
+
+        // the old identity is no longer referenced, let the next swap to its type reuse it
+        if (previous != identity && !previousLoaded) {
+            IdentityPool.release(previous, player.world);
+        }
+    }
+
+    /**
+     * Assigns the identity field and mirrors it into the player's {@link IdentityHolder} field, which hot mixin paths read from.
+     *
+     * @param identity new identity, or null for "no identity"
+     */
+    private void updateIdentity(LivingEntity identity) {
+        this.identity = identity;
+        this.flightEligibilityKnown = false;
+        ((IdentityHolder) player).identity_setIdentity(identity);
+    }
+
+    /**
+     * Returns whether this component's player may fly with their current identity.
+     *
+     * <p>The result is computed once and reused until the identity changes or {@link IdentityComponent#invalidateFlightEligibility()} is called.
+     * Only valid on the server.
+     *
+     * @return whether the player's identity grants flight
+     */
+    public boolean isFlightEligible() {
+        if (!flightEligibilityKnown) {
+            flightEligible = Identity.computeFlyingPermissions((ServerPlayerEntity) player);
+            flightEligibilityKnown = true;
+        }
+
+        return flightEligible;
+    }
+
+    /**
+     * Discards the cached flight eligibility, for when progress on a flight advancement changes or advancements are reloaded.
+     */
+    public void invalidateFlightEligibility() {
+        this.flightEligibilityKnown = false;
     }
 
     @Override
     public void serverTick() {
+        if (!player.isCreative() && !player.isSpectator() && IdentityTraits.has(identity, IdentityTraits.BURNS_IN_DAYLIGHT | IdentityTraits.HURT_BY_HIGH_TEMPERATURE)) {
+            sampleHazards();
+        }
+
         tickTemperature();
         tickFire();
         tickIdentity();
     }
 
+    /**
+     * Refreshes the cached environment used by {@link IdentityComponent#tickFire()} and {@link IdentityComponent#tickTemperature()}.
+     *
+     * <p>Brightness, sky visibility and biome temperature only change meaningfully when the player moves into another block,
+     * so they are re-sampled immediately on a block change (or world/vehicle change) and otherwise once every {@link IdentityComponent#HAZARD_SAMPLE_INTERVAL} ticks.
+     * The periodic re-sample is offset by entity ID to spread the lookups of players standing still across ticks.
+     * The per-tick parts of the hazards (time of day, rain, the random burn roll, damage) are not cached.
+     */
+    private void sampleHazards() {
+        PlayerEntity player = this.player;
+        BlockPos blockPos = player.getBlockPos();
+        long packedPos = blockPos.asLong();
+        int roundedY = (int) Math.round(player.getY());
+        int eyeY = MathHelper.floor(player.getEyeY());
+        boolean inBoat = player.getVehicle() instanceof BoatEntity;
+        boolean due = (player.age + player.getEntityId()) % HAZARD_SAMPLE_INTERVAL == 0;
+
+        if (due || player.world != hazardWorld || packedPos != hazardBlockPos || roundedY != hazardRoundedY || eyeY != hazardEyeY || inBoat != hazardInBoat) {
+            hazardWorld = player.world;
+            hazardBlockPos = packedPos;
+            hazardRoundedY = roundedY;
+            hazardEyeY = eyeY;
+            hazardInBoat = inBoat;
+            hazardBrightness = player.getBrightnessAtEyes();
+
+            // move test position up one block for boats
+            BlockPos daylightTestPosition = new BlockPos(blockPos.getX(), roundedY, blockPos.getZ());
+            hazardSkyVisible = player.world.isSkyVisible(inBoat ? daylightTestPosition.up() : daylightTestPosition);
+
+            hazardTemperature = player.world.getBiome(new BlockPos(blockPos.getX(), 0, blockPos.getZ())).getTemperature(blockPos);
+        }
+    }
+
     private void tickIdentity() {
         // todo: maybe items not working because world is client?
         PlayerEntity player = this.player;
@@ -126,8 +266,65 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
             ((EntityAccessor) identity).callSetFlag(7, player.isFallFlying());
 
             ((LivingEntityAccessor) identity).callTickActiveItemStack();
-            Components.CURRENT_IDENTITY.sync(player);
+
+            // only send the fields that changed since the last sync
+            int changed = collectChangedFields();
+            int interval = Identity.CONFIG.farIdentitySyncInterval;
+            pendingMask |= changed;
+            farSyncDue = interval <= 1 || player.age % interval == 0;
+
+            if (changed != 0) {
+                captureSyncedState();
+            }
+
+            if (changed != 0 || (farSyncDue && pendingMask != 0)) {
+                ComponentSyncQueue.markDirty(player, Components.CURRENT_IDENTITY);
+            }
+        }
+    }
+
+    /**
+     * Compares the player-mirrored state of this component's player against the state last sent to clients.
+     *
+     * @return bitmask of fields that have changed since the last sync
+     */
+    private int collectChangedFields() {
+        int changed = 0;
+
+        if (player.getPose() != syncedPose) {
+            changed |= POSE;
+        }
+
+        if (player.isSneaking() != syncedSneaking) {
+            changed |= SNEAKING;
+        }
+
+        if (player.isSwimming() != syncedSwimming) {
+            changed |= SWIMMING;
+        }
+
+        if (player.isFallFlying() != syncedFallFlying) {
+            changed |= FALL_FLYING;
+        }
+
+        if (player.getStuckArrowCount() != syncedStuckArrows) {
+            changed |= STUCK_ARROWS;
+        }
+
+        if (player.getActiveHand() != syncedActiveHand) {
+            changed |= ACTIVE_HAND;
         }
+
+        return changed;
+    }
+
+    private void captureSyncedState() {
+        syncedPose = player.getPose();
+        syncedSneaking = player.isSneaking();
+        syncedSwimming = player.isSwimming();
+        syncedFallFlying = player.isFallFlying();
+        syncedStuckArrows = player.getStuckArrowCount();
+        syncedActiveHand = player.getActiveHand();
     }
 
     private void tickFire() {
@@ -136,10 +333,8 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
         if (!player.world.isClient && !player.isCreative() && !player.isSpectator()) {
             // check if the player is identity
             if (this.identity != null) {
-                EntityType<?> type = this.identity.getType();
-
                 // check if the player's current identity burns in sunlight
-                if (EntityTags.BURNS_IN_DAYLIGHT.contains(type)) {
+                if (IdentityTraits.has(this.identity, IdentityTraits.BURNS_IN_DAYLIGHT)) {
                     boolean bl = this.isInDaylight();
                     if (bl) {
 
@@ -177,15 +372,8 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
     private boolean isInDaylight() {
         PlayerEntity player = this.player;
         if (player.world.isDay() && !player.world.isClient) {
-            float brightnessAtEyes = player.getBrightnessAtEyes();
-            BlockPos daylightTestPosition = new BlockPos(player.getX(), (double) Math.round(player.getY()), player.getZ());
-
-            // move test position up one block for boats
-            if (player.getVehicle() instanceof BoatEntity) {
-                daylightTestPosition = daylightTestPosition.up();
-            }
-
-            return brightnessAtEyes > 0.5F && player.getRandom().nextFloat() * 30.0F < (brightnessAtEyes - 0.4F) * 2.0F && player.world.isSkyVisible(daylightTestPosition);
+            float brightnessAtEyes = this.hazardBrightness;
+            return brightnessAtEyes > 0.5F && player.getRandom().nextFloat() * 30.0F < (brightnessAtEyes - 0.4F) * 2.0F && this.hazardSkyVisible;
         }
 
         return false;
@@ -197,11 +385,9 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
         if (!player.isCreative() && !player.isSpectator()) {
             // check if the player is identity
             if (this.identity != null) {
-                EntityType<?> type = this.identity.getType();
-
                 // damage player if they are an identity that gets hurt by high temps (eg. snow golem in nether)
-                if (EntityTags.HURT_BY_HIGH_TEMPERATURE.contains(type)) {
-                    if (player.world.getBiome(new BlockPos(player.getX(), 0, player.getZ())).getTemperature(new BlockPos(player.getX(), player.getY(), player.getZ())) > 1.0F) {
+                if (IdentityTraits.has(this.identity, IdentityTraits.HURT_BY_HIGH_TEMPERATURE)) {
+                    if (this.hazardTemperature > 1.0F) {
                         player.damage(DamageSource.ON_FIRE, 1.0F);
                     }
                 }
@@ -209,13 +395,177 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
         }
     }
 
+    /**
+     * Skips CCA's join sync to the owner, whose initial state was already sent in the join handshake.
+     */
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity recipient) {
+        return recipient != player || !ComponentSyncQueue.receivedHandshake(recipient);
+    }
+
+    /**
+     * Determines whether the pending changes of this component should be sent to the given player.
+     *
+     * <p>Full snapshots always go out to every watcher.
+     * Deltas go out at full rate to the owner and to watchers within {@link draylar.identity.config.IdentityConfig#nearIdentitySyncDistance},
+     * while watchers further away only receive the accumulated changes every {@link draylar.identity.config.IdentityConfig#farIdentitySyncInterval} ticks.
+     *
+     * @param recipient  player that would receive the sync packet
+     * @return whether the sync packet should be sent to the recipient
+     */
+    @Override
+    public boolean shouldBatchSyncWith(ServerPlayerEntity recipient) {
+        if (fullSyncPending || recipient == player) {
+            return true;
+        }
+
+        double nearDistance = Identity.CONFIG.nearIdentitySyncDistance;
+        return farSyncDue || recipient.squaredDistanceTo(player) <= nearDistance * nearDistance;
+    }
+
+    /**
+     * Writes a full snapshot of this component. Used by CCA when a player starts tracking this component's owner, respawns or changes dimension.
+     */
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        writeSync(buf, FULL_SYNC | ALL_FIELDS);
+    }
+
+    @Override
+    public void writeBatchSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        writeSync(buf, fullSyncPending ? FULL_SYNC | ALL_FIELDS : pendingMask);
+    }
+
+    @Override
+    public void onBatchSynced() {
+        if (fullSyncPending || farSyncDue) {
+            pendingMask = 0;
+        }
+
+        fullSyncPending = false;
+    }
+
+    /**
+     * Writes this component to a sync packet using a compact binary layout.
+     *
+     * <p>The packet starts with a header byte describing which fields follow.
+     * Full snapshots carry the raw registry id of the identity type as a VarInt (0 being "no identity"), followed by every player-mirrored field.
+     * Deltas, queued from {@link IdentityComponent#tickIdentity()}, only carry the fields that changed since the last sync to far watchers.
+     * Boolean fields and the active hand are bit-packed into a single byte.
+     *
+     * @param buf     sync packet data
+     * @param header  {@link IdentityComponent#FULL_SYNC} and field flags to write
+     */
+    private void writeSync(PacketByteBuf buf, int header) {
+        buf.writeByte(header);
+
+        if ((header & FULL_SYNC) != 0) {
+            buf.writeVarInt(identity == null ? 0 : Registry.ENTITY_TYPE.getRawId(identity.getType()) + 1);
+        }
+
+        if ((header & POSE) != 0) {
+            buf.writeEnumConstant(player.getPose());
+        }
+
+        if ((header & STATE_FIELDS) != 0) {
+            int state = 0;
+            state |= player.isSneaking() ? SNEAKING_BIT : 0;
+            state |= player.isSwimming() ? SWIMMING_BIT : 0;
+            state |= player.isFallFlying() ? FALL_FLYING_BIT : 0;
+            state |= player.getActiveHand() == Hand.OFF_HAND ? OFF_HAND_BIT : 0;
+            buf.writeByte(state);
+        }
+
+        if ((header & STUCK_ARROWS) != 0) {
+            buf.writeVarInt(player.getStuckArrowCount());
+        }
+    }
+
+    /**
+     * Applies a packet written by {@link IdentityComponent#writeSync(PacketByteBuf, int)} directly to the client identity.
+     *
+     * @param buf  sync packet data
+     */
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        int header = buf.readByte();
+
+        if ((header & FULL_SYNC) != 0) {
+            applyIdentityType(buf.readVarInt());
+        }
+
+        // always consume the payload, even if there is no identity to apply it to
+        EntityPose pose = (header & POSE) != 0 ? buf.readEnumConstant(EntityPose.class) : null;
+        int state = (header & STATE_FIELDS) != 0 ? buf.readByte() : 0;
+        int stuckArrows = (header & STUCK_ARROWS) != 0 ? buf.readVarInt() : 0;
+        LivingEntity identity = this.identity;
+
+        if (identity == null) {
+            return;
+        }
+
+        if ((header & POSE) != 0) {
+            identity.setPose(pose);
+        }
+
+        if ((header & SNEAKING) != 0) {
+            boolean sneaking = (state & SNEAKING_BIT) != 0;
+            identity.setSneaking(sneaking);
+
+            if (identity instanceof TameableEntity) {
+                ((TameableEntity) identity).setInSittingPose(sneaking);
+                ((TameableEntity) identity).setSitting(sneaking);
+            }
+        }
+
+        if ((header & SWIMMING) != 0) {
+            identity.setSwimming((state & SWIMMING_BIT) != 0);
+        }
+
+        if ((header & FALL_FLYING) != 0) {
+            ((EntityAccessor) identity).callSetFlag(7, (state & FALL_FLYING_BIT) != 0);
+        }
+
+        if ((header & STUCK_ARROWS) != 0) {
+            identity.setStuckArrowCount(stuckArrows);
+        }
+
+        if ((header & ACTIVE_HAND) != 0) {
+            identity.setCurrentHand((state & OFF_HAND_BIT) != 0 ? Hand.OFF_HAND : Hand.MAIN_HAND);
+        }
+    }
+
+    /**
+     * Swaps the client identity to the entity type with the given server raw registry id (offset by 1, with 0 representing "no identity").
+     *
+     * <p>The existing identity instance is kept if it already has the requested type.
+     *
+     * @param rawId  raw registry id of the new identity type, plus 1
+     */
+    private void applyIdentityType(int rawId) {
+        EntityType<?> type = rawId == 0 ? null : EntityTypePalette.fromServerId(rawId - 1);
+
+        if (type == null) {
+            if (identity != null) {
+                updateIdentity(null);
+                ((DimensionsRefresher) player).identity_refreshDimensions();
+            }
+        } else if (identity == null || !type.equals(identity.getType())) {
+            Entity created = type.create(player.world);
+            updateIdentity(created instanceof LivingEntity ? (LivingEntity) created : null);
+
+            // refresh player dimensions/hitbox on client
+            ((DimensionsRefresher) player).identity_refreshDimensions();
+        }
+    }
+
     @Override
     public void readFromNbt(CompoundTag tag) {
         Optional<EntityType<?>> type = EntityType.fromTag(tag);
 
         // set identity to null (no identity) if the entity id is "minecraft:empty"
         if (tag.getString("id").equals("minecraft:empty")) {
-            this.identity = null;
+            updateIdentity(null);
             ((DimensionsRefresher) player).identity_refreshDimensions();
         }
 
@@ -226,13 +576,14 @@ public class IdentityComponent implements AutoSyncedComponent, ServerTickingComp
             // ensure entity data exists
             if (entityTag != null) {
                 if (identity == null || !type.get().equals(identity.getType())) {
-                    identity = (LivingEntity) type.get().create(player.world);
+                    updateIdentity(IdentityPool.acquire(type.get(), player.world));
 
                     // refresh player dimensions/hitbox on client
                     ((DimensionsRefresher) player).identity_refreshDimensions();
                 }
 
                 identity.fromTag(entityTag);
+                identityLoaded = true;
             }
         }
     }
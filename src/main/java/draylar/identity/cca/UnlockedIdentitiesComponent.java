@@ -1,69 +1,243 @@
 package draylar.identity.cca;
 
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import draylar.identity.network.ClientNetworking;
+import draylar.identity.network.ComponentSyncQueue;
+import draylar.identity.network.EntityTypePalette;
 import draylar.identity.registry.Components;
-import nerdhub.cardinal.components.api.ComponentType;
-import nerdhub.cardinal.components.api.util.sync.EntitySyncedComponent;
 import net.fabricmc.fabric.api.util.NbtType;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tracks the identities a {@link PlayerEntity} has unlocked.
+ *
+ * <p>Changes are synced as an op-log: each unlock or revoke is queued as a {@code +id} or {@code -id} operation and bumps a version counter.
+ * Batched syncs only send the operations made since the last flush, along with the version they apply on top of.
+ * If the client's version does not match, it asks the server for a full resync ({@link draylar.identity.network.NetworkHandler#UNLOCKED_RESYNC}).
+ *
+ * <p>In memory, unlocked entity types are a {@link BitSet} indexed by raw registry ID, so membership checks are a single bit test.
+ * Saved IDs that are not registered (eg. from a removed mod) are kept aside in {@link UnlockedIdentitiesComponent#unknown}
+ * and written back unchanged, so they come back if the mod is re-added.
+ */
+public class UnlockedIdentitiesComponent implements BatchSyncedComponent {
 
-public class UnlockedIdentitiesComponent implements AutoSyncedComponent {
+    // sync packet modes
+    private static final byte FULL_SYNC = 0;
+    private static final byte OPS_SYNC = 1;
 
     private final PlayerEntity player;
-    private final List<Identifier> unlocked = new ArrayList<>();
+    private final BitSet unlocked = new BitSet();
+    private final List<Identifier> unknown = new ArrayList<>();
+
+    // op-log state: ops are raw ids shifted left by 1, with the low bit set for revokes
+    private final IntList pendingOps = new IntArrayList();
+    private int version = 0;
+    private int syncedVersion = 0;
+    private boolean fullSyncPending = false;
 
     public UnlockedIdentitiesComponent(PlayerEntity player) {
         this.player = player;
     }
 
     public void unlock(Identifier id) {
-        if(!unlocked.contains(id)) {
-            this.unlocked.add(id);
-            Components.UNLOCKED_IDENTITIES.sync(this.player);
+        Optional<EntityType<?>> type = Registry.ENTITY_TYPE.getOrEmpty(id);
+
+        if(type.isPresent()) {
+            unlock(type.get());
+        } else if(!unknown.contains(id)) {
+            unknown.add(id);
         }
     }
 
     public void unlock(EntityType<?> type) {
-        Identifier id = Registry.ENTITY_TYPE.getId(type);
-        unlock(id);
+        int rawId = Registry.ENTITY_TYPE.getRawId(type);
+
+        // unregistered types have no raw ID (or saveable identifier) to store
+        if(rawId < 0) {
+            return;
+        }
+
+        if(!unlocked.get(rawId)) {
+            this.unlocked.set(rawId);
+            queueOp(rawId, false);
+        }
     }
 
     public boolean has(EntityType<?> type) {
-        Identifier id = Registry.ENTITY_TYPE.getId(type);
-        return type.equals(EntityType.PLAYER) || unlocked.contains(id);
+        int rawId = Registry.ENTITY_TYPE.getRawId(type);
+        return type.equals(EntityType.PLAYER) || (rawId >= 0 && unlocked.get(rawId));
     }
 
     public void revoke(EntityType<?> type) {
-        Identifier id = Registry.ENTITY_TYPE.getId(type);
-        revoke(id);
+        int rawId = Registry.ENTITY_TYPE.getRawId(type);
+
+        if(rawId >= 0 && unlocked.get(rawId)) {
+            this.unlocked.clear(rawId);
+            queueOp(rawId, true);
+        }
     }
 
     public void revoke(Identifier id) {
-        if(unlocked.contains(id)) {
-            this.unlocked.remove(id);
-            Components.UNLOCKED_IDENTITIES.sync(this.player);
+        Optional<EntityType<?>> type = Registry.ENTITY_TYPE.getOrEmpty(id);
+
+        if(type.isPresent()) {
+            revoke(type.get());
+        } else {
+            unknown.remove(id);
+        }
+    }
+
+    private void queueOp(int rawId, boolean revoke) {
+        pendingOps.add(rawId << 1 | (revoke ? 1 : 0));
+        version++;
+        ComponentSyncQueue.markDirty(this.player, Components.UNLOCKED_IDENTITIES);
+    }
+
+    /**
+     * Schedules a full sync of this component, used when the client reports that its op-log version is out of date.
+     */
+    public void requestFullSync() {
+        fullSyncPending = true;
+        ComponentSyncQueue.markDirty(this.player, Components.UNLOCKED_IDENTITIES);
+    }
+
+    /**
+     * Unlocked identities are only read by the owner's identity menu; other players tracking the owner do not need them.
+     */
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        return player == this.player && !ComponentSyncQueue.receivedHandshake(player);
+    }
+
+    /**
+     * Writes a full snapshot: the current op-log version, then a VarInt count followed by the raw registry ID of each entry.
+     *
+     * <p>Entries that are missing from the registry (eg. from a removed mod) stay in save data, but are not sent.
+     * On the server, each set bit is already the raw ID the client palette expects.
+     */
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        buf.writeByte(FULL_SYNC);
+        buf.writeVarInt(version);
+        buf.writeVarInt(unlocked.cardinality());
+
+        for (int rawId = unlocked.nextSetBit(0); rawId >= 0; rawId = unlocked.nextSetBit(rawId + 1)) {
+            buf.writeVarInt(rawId);
+        }
+    }
+
+    /**
+     * Writes the operations queued since the last flush, prefixed by the version they apply on top of.
+     * Falls back to a full snapshot if the client requested a resync.
+     */
+    @Override
+    public void writeBatchSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        if (fullSyncPending) {
+            writeSyncPacket(buf, recipient);
+            return;
+        }
+
+        buf.writeByte(OPS_SYNC);
+        buf.writeVarInt(syncedVersion);
+        buf.writeVarInt(pendingOps.size());
+
+        for (int i = 0; i < pendingOps.size(); i++) {
+            buf.writeVarInt(pendingOps.getInt(i));
+        }
+    }
+
+    @Override
+    public void onBatchSynced() {
+        pendingOps.clear();
+        syncedVersion = version;
+        fullSyncPending = false;
+    }
+
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        byte mode = buf.readByte();
+        int baseVersion = buf.readVarInt();
+        int count = buf.readVarInt();
+
+        if (mode == FULL_SYNC) {
+            unlocked.clear();
+
+            for (int i = 0; i < count; i++) {
+                EntityType<?> type = EntityTypePalette.fromServerId(buf.readVarInt());
+
+                int rawId = type == null ? -1 : Registry.ENTITY_TYPE.getRawId(type);
+
+                if (rawId >= 0) {
+                    unlocked.set(rawId);
+                }
+            }
+
+            version = baseVersion;
+            return;
         }
+
+        // consume the ops before deciding whether they apply
+        int[] ops = new int[count];
+        for (int i = 0; i < count; i++) {
+            ops[i] = buf.readVarInt();
+        }
+
+        // already received through a full sync (eg. after respawning in the same tick)
+        if (version == baseVersion + count) {
+            return;
+        }
+
+        // missed an update, ask the server for the full list
+        if (version != baseVersion) {
+            ClientNetworking.requestUnlockedResync();
+            return;
+        }
+
+        for (int op : ops) {
+            EntityType<?> type = EntityTypePalette.fromServerId(op >> 1);
+
+            int rawId = type == null ? -1 : Registry.ENTITY_TYPE.getRawId(type);
+
+            if (rawId >= 0) {
+                unlocked.set(rawId, (op & 1) == 0);
+            }
+        }
+
+        version = baseVersion + count;
     }
 
     @Override
     public void readFromNbt(CompoundTag tag) {
         unlocked.clear();
+        unknown.clear();
 
         // reminder: do not change this tag
         ListTag idList = tag.getList("UnlockedMorphs", NbtType.STRING);
 
         idList.forEach(idTag -> {
-            unlocked.add(new Identifier(idTag.asString()));
+            Identifier id = new Identifier(idTag.asString());
+            Optional<EntityType<?>> type = Registry.ENTITY_TYPE.getOrEmpty(id);
+
+            if (type.isPresent()) {
+                unlocked.set(Registry.ENTITY_TYPE.getRawId(type.get()));
+            } else if (!unknown.contains(id)) {
+                unknown.add(id);
+            }
         });
     }
 
@@ -71,7 +245,12 @@ public class UnlockedIdentitiesComponent implements AutoSyncedComponent {
     public void writeToNbt(CompoundTag tag) {
         ListTag idList = new ListTag();
 
-        unlocked.forEach(entityId -> {
+        for (int rawId = unlocked.nextSetBit(0); rawId >= 0; rawId = unlocked.nextSetBit(rawId + 1)) {
+            idList.add(StringTag.of(Registry.ENTITY_TYPE.getId(Registry.ENTITY_TYPE.get(rawId)).toString()));
+        }
+
+        // unregistered entries are saved back as they were loaded
+        unknown.forEach(entityId -> {
             idList.add(StringTag.of(entityId.toString()));
         });
 
@@ -4,12 +4,13 @@ import com.mojang.brigadier.tree.LiteralCommandNode;
 import draylar.identity.Identity;
 import draylar.identity.cca.IdentityComponent;
 import draylar.identity.cca.UnlockedIdentitiesComponent;
+import draylar.identity.impl.IdentityPool;
+import draylar.identity.network.SwapRequestLimiter;
 import draylar.identity.registry.Components;
 import net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback;
 import net.minecraft.command.argument.EntityArgumentType;
 import net.minecraft.command.argument.EntitySummonArgumentType;
 import net.minecraft.command.suggestion.SuggestionProviders;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.server.command.CommandManager;
@@ -118,11 +119,23 @@ public class IdentityCommand {
                     )
                     .build();
 
+            /*
+            Reports how many identity swap requests were rate-limited or coalesced since the server started.
+             */
+            LiteralCommandNode<ServerCommandSource> stats = CommandManager
+                    .literal("stats")
+                    .executes(context -> {
+                        stats(context.getSource());
+                        return 1;
+                    })
+                    .build();
+
             rootNode.addChild(grantNode);
             rootNode.addChild(revokeNode);
             rootNode.addChild(equip);
             rootNode.addChild(unequip);
             rootNode.addChild(test);
+            rootNode.addChild(stats);
 
             dispatcher.getRoot().addChild(rootNode);
         });
@@ -206,10 +219,10 @@ public class IdentityCommand {
         IdentityComponent current = Components.CURRENT_IDENTITY.get(player);
         EntityType<?> entity = Registry.ENTITY_TYPE.get(identity);
 
-        Entity createdEntity = entity.create(player.world);
+        LivingEntity createdEntity = IdentityPool.acquire(entity, player.world);
 
-        if(createdEntity instanceof LivingEntity) {
-            current.setIdentity((LivingEntity) createdEntity);
+        if(createdEntity != null) {
+            current.setIdentity(createdEntity);
 
             if(Identity.CONFIG.logCommands) {
                 source.sendMessage(new TranslatableText("identity.equip_success", new TranslatableText(entity.getTranslationKey()), player.getDisplayName()), true);
@@ -217,6 +230,10 @@ public class IdentityCommand {
         }
     }
 
+    private static void stats(ServerCommandSource source) {
+        source.sendFeedback(new TranslatableText("identity.swap_request_stats", SwapRequestLimiter.getRejectedCount(), SwapRequestLimiter.getCoalescedCount()), false);
+    }
+
     private static void unequip(ServerPlayerEntity source, ServerPlayerEntity player) {
         IdentityComponent current = Components.CURRENT_IDENTITY.get(player);
         current.setIdentity(null);
@@ -108,4 +108,19 @@ public class IdentityConfig implements ConfigData {
 
     @Comment(value = "If true, /identity commands will send feedback in the action bar.")
     public boolean logCommands = true;
+
+    @Comment(value = "In blocks, how close a player must be to a disguised player to receive identity pose updates every tick.")
+    public int nearIdentitySyncDistance = 32;
+
+    @Comment(value = "In ticks, how often players further away than nearIdentitySyncDistance receive identity pose updates.")
+    public int farIdentitySyncInterval = 10;
+
+    @Comment(value = "How many identity swaps a player can request in a row before being rate-limited.")
+    public int swapRequestBurst = 5;
+
+    @Comment(value = "How many identity swap requests per second a player regains after using up swapRequestBurst.")
+    public double swapRequestsPerSecond = 2;
+
+    @Comment(value = "If true, the identity menu renders each identity once into a shared texture and draws entries from it. Only the hovered and selected entries are rendered live. Client-side.")
+    public boolean menuThumbnails = false;
 }
@@ -0,0 +1,129 @@
+package draylar.identity.impl;
+
+import draylar.identity.mixin.LivingEntityAccessor;
+import draylar.identity.registry.IdentityTraits;
+import net.minecraft.entity.EntityDimensions;
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.registry.Registry;
+
+import java.util.Arrays;
+
+/**
+ * Lookup table for the dimensions and eye heights a player takes on while disguised as an identity.
+ *
+ * <p>For most identities, dimensions only depend on the entity type, the identity's scale factor (baby or adult) and the pose the player is in.
+ * The values for all poses of a type are computed together the first time that type is queried with a given scale factor,
+ * and the resulting entry is never modified afterwards. Each type keeps one entry per scale factor it has been queried with.
+ *
+ * <p>Types in the {@link draylar.identity.registry.EntityTags#INSTANCE_SIZED} tag are sized per instance (slime size, pufferfish puff state, ...).
+ * Those are never cached and always query the identity directly. Mods with such entities should add them to the tag.
+ */
+public class IdentityDimensions {
+
+    private static final EntityPose[] POSES = EntityPose.values();
+    private static volatile Entry[] byRawId = new Entry[0];
+
+    /**
+     * @param identity  identity to get dimensions for
+     * @param pose      pose the player is in
+     * @return dimensions of the identity in the given pose
+     */
+    public static EntityDimensions getDimensions(LivingEntity identity, EntityPose pose) {
+        if (isInstanceSized(identity)) {
+            return identity.getDimensions(pose);
+        }
+
+        return getEntry(identity).dimensions[pose.ordinal()];
+    }
+
+    /**
+     * @param identity  identity to get the eye height for
+     * @param pose      pose the player is in
+     * @return eye height of the identity in the given pose, matching {@link LivingEntity#getEyeHeight(EntityPose, EntityDimensions)}
+     */
+    public static float getEyeHeight(LivingEntity identity, EntityPose pose) {
+        // vanilla special case in LivingEntity#getEyeHeight, not part of the active eye height
+        if (pose == EntityPose.SLEEPING) {
+            return 0.2F;
+        }
+
+        return getActiveEyeHeight(identity, pose);
+    }
+
+    /**
+     * @param identity  identity to get the eye height for
+     * @param pose      pose the player is in
+     * @return active eye height of the identity in the given pose, matching {@link LivingEntity#getActiveEyeHeight(EntityPose, EntityDimensions)}
+     */
+    public static float getActiveEyeHeight(LivingEntity identity, EntityPose pose) {
+        if (isInstanceSized(identity)) {
+            return ((LivingEntityAccessor) identity).callGetActiveEyeHeight(pose, identity.getDimensions(pose));
+        }
+
+        return getEntry(identity).eyeHeights[pose.ordinal()];
+    }
+
+    private static boolean isInstanceSized(LivingEntity identity) {
+        return IdentityTraits.has(identity, IdentityTraits.INSTANCE_SIZED);
+    }
+
+    private static Entry getEntry(LivingEntity identity) {
+        int rawId = Registry.ENTITY_TYPE.getRawId(identity.getType());
+        float scaleFactor = identity.getScaleFactor();
+        Entry[] entries = byRawId;
+
+        // babies and adults of the same type have different dimensions, each scale factor gets its own entry
+        if (rawId >= 0 && rawId < entries.length) {
+            for (Entry entry = entries[rawId]; entry != null; entry = entry.next) {
+                if (entry.scaleFactor == scaleFactor) {
+                    return entry;
+                }
+            }
+        }
+
+        if (rawId < 0) {
+            return new Entry(identity, null);
+        }
+
+        synchronized (IdentityDimensions.class) {
+            Entry[] current = byRawId;
+            Entry head = rawId < current.length ? current[rawId] : null;
+
+            // another thread may have added this scale while this one was waiting
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (entry.scaleFactor == scaleFactor) {
+                    return entry;
+                }
+            }
+
+            Entry entry = new Entry(identity, head);
+            Entry[] updated = Arrays.copyOf(current, Math.max(current.length, Math.max(rawId + 1, Registry.ENTITY_TYPE.getIds().size())));
+            updated[rawId] = entry;
+            byRawId = updated;
+            return entry;
+        }
+    }
+
+    private static class Entry {
+        private final float scaleFactor;
+        private final Entry next;
+        private final EntityDimensions[] dimensions = new EntityDimensions[POSES.length];
+        private final float[] eyeHeights = new float[POSES.length];
+
+        private Entry(LivingEntity identity, Entry next) {
+            this.scaleFactor = identity.getScaleFactor();
+            this.next = next;
+
+            for (EntityPose pose : POSES) {
+                EntityDimensions dimensions = identity.getDimensions(pose);
+                this.dimensions[pose.ordinal()] = dimensions;
+                this.eyeHeights[pose.ordinal()] = ((LivingEntityAccessor) identity).callGetActiveEyeHeight(pose, dimensions);
+            }
+        }
+    }
+
+    private IdentityDimensions() {
+        // NO-OP
+    }
+}
@@ -0,0 +1,21 @@
+package draylar.identity.impl;
+
+import net.minecraft.entity.LivingEntity;
+
+/**
+ * Duck interface for reading a player's current identity straight from a field on the player, implemented by {@link draylar.identity.mixin.PlayerEntityMixin}.
+ *
+ * <p>Hot paths (dimensions, eye height, movement, status effects) read this field instead of looking up {@link draylar.identity.cca.IdentityComponent}.
+ * The value is only written by {@link draylar.identity.cca.IdentityComponent} whenever its identity changes.
+ *
+ * <p>The holder also mirrors whether {@link draylar.identity.cca.HostilityComponent} currently marks the player as hostile, for mob AI hooks.
+ */
+public interface IdentityHolder {
+    LivingEntity identity_getIdentity();
+
+    void identity_setIdentity(LivingEntity identity);
+
+    boolean identity_hasHostility();
+
+    void identity_setHostility(boolean hostility);
+}
@@ -0,0 +1,122 @@
+package draylar.identity.impl;
+
+import draylar.identity.mixin.EntityAccessor;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.passive.TameableEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-world pool of identity instances, keyed by entity type.
+ *
+ * <p>Creating some identities is expensive (the Ender Dragon builds its parts, most mobs build goal selectors, brains and attribute containers).
+ * When a player swaps away from an identity, the instance is reset and returned here, so swapping back to it later does not create a new entity.
+ * Pools are shared by every player in a world, so only instances created through {@link IdentityPool#acquire(EntityType, World)} may be released;
+ * instances that had NBT loaded into them carry another player's state and are never pooled.
+ * Only server worlds are pooled; pools are dropped when their world unloads.
+ */
+public class IdentityPool {
+
+    private static final int MAX_POOLED_PER_TYPE = 4;
+    private static final Map<ServerWorld, Map<EntityType<?>, ArrayDeque<LivingEntity>>> POOLS = new HashMap<>();
+
+    /**
+     * Returns an identity instance of the given type, reusing a pooled instance when one is available.
+     *
+     * @param type   type of identity to acquire
+     * @param world  world the identity belongs to
+     * @return identity instance of the given type, or null if the type does not create a {@link LivingEntity}
+     */
+    public static LivingEntity acquire(EntityType<?> type, World world) {
+        if (world instanceof ServerWorld) {
+            Map<EntityType<?>, ArrayDeque<LivingEntity>> pool = POOLS.get(world);
+
+            if (pool != null) {
+                ArrayDeque<LivingEntity> pooled = pool.get(type);
+
+                if (pooled != null && !pooled.isEmpty()) {
+                    return pooled.pop();
+                }
+            }
+        }
+
+        Entity created = type.create(world);
+        return created instanceof LivingEntity ? (LivingEntity) created : null;
+    }
+
+    /**
+     * Resets an identity that is no longer used and returns it to the pool of the world its owner is in.
+     *
+     * <p>The identity's own world is not updated when its owner changes dimension, so the owner's world is passed in,
+     * and the identity is moved into that world before it is pooled.
+     * The caller must not keep any reference to the identity after releasing it.
+     *
+     * @param identity  identity to release, may be null
+     * @param world     world the identity's owner is currently in
+     */
+    public static void release(LivingEntity identity, World world) {
+        if (identity == null || !(world instanceof ServerWorld)) {
+            return;
+        }
+
+        ArrayDeque<LivingEntity> pooled = POOLS.computeIfAbsent((ServerWorld) world, w -> new HashMap<>())
+                .computeIfAbsent(identity.getType(), type -> new ArrayDeque<>());
+
+        if (pooled.size() < MAX_POOLED_PER_TYPE && !pooled.contains(identity)) {
+            reset(identity);
+            identity.setWorld(world);
+            pooled.push(identity);
+        }
+    }
+
+    /**
+     * Drops the pool of the given world, called when the world unloads.
+     *
+     * @param world  world to drop the pool for
+     */
+    public static void clear(ServerWorld world) {
+        POOLS.remove(world);
+    }
+
+    // undoes the state IdentityComponent#tickIdentity mirrors from the player, and any other per-player state an identity can pick up while equipped
+    private static void reset(LivingEntity identity) {
+        identity.clearStatusEffects();
+        identity.setHealth(identity.getMaxHealth());
+        identity.setFireTicks(0);
+        identity.setAir(identity.getMaxAir());
+        identity.setCustomName(null);
+        identity.fallDistance = 0;
+
+        for (EquipmentSlot slot : EquipmentSlot.values()) {
+            identity.equipStack(slot, ItemStack.EMPTY);
+        }
+
+        identity.clearActiveItem();
+        identity.setPose(EntityPose.STANDING);
+        identity.setSneaking(false);
+        identity.setSwimming(false);
+        identity.setSprinting(false);
+        identity.setJumping(false);
+        identity.setStuckArrowCount(0);
+        identity.setHeadYaw(0);
+        ((EntityAccessor) identity).callSetFlag(7, false);
+
+        if (identity instanceof TameableEntity) {
+            ((TameableEntity) identity).setInSittingPose(false);
+            ((TameableEntity) identity).setSitting(false);
+        }
+    }
+
+    private IdentityPool() {
+        // NO-OP
+    }
+}
@@ -1,6 +1,7 @@
 package draylar.identity.mixin;
 
-import draylar.identity.registry.Components;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.goal.FleeEntityGoal;
@@ -32,8 +33,8 @@ public abstract class CreeperEntityMixin extends HostileEntity {
                 PlayerEntity.class,
                 player -> {
                     if (player instanceof PlayerEntity) {
-                        LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
-                        return identity != null && identity.getType().equals(EntityType.OCELOT);
+                        LivingEntity identity = ((IdentityHolder) player).identity_getIdentity();
+                        return IdentityDispositions.get(IdentityDispositions.CREEPER, identity) == IdentityDispositions.FLEE;
                     }
 
                     return true;
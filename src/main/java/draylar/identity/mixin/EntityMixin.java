@@ -1,17 +1,12 @@
 package draylar.identity.mixin;
 
 import draylar.identity.impl.DimensionsRefresher;
-import draylar.identity.registry.Components;
 import net.minecraft.entity.*;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(Entity.class)
 public abstract class EntityMixin implements DimensionsRefresher {
@@ -27,38 +22,6 @@ public abstract class EntityMixin implements DimensionsRefresher {
     @Shadow private float standingEyeHeight;
     @Shadow protected abstract float getEyeHeight(EntityPose pose, EntityDimensions dimensions);
 
-    @Inject(
-            method = "getWidth",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void getWidth(CallbackInfoReturnable<Float> cir) {
-        if ((Object) this instanceof PlayerEntity) {
-            PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-            LivingEntity Identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
-
-            if (Identity != null) {
-                cir.setReturnValue(Identity.getWidth());
-            }
-        }
-    }
-
-    @Inject(
-            method = "getHeight",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void getHeight(CallbackInfoReturnable<Float> cir) {
-        if ((Object) this instanceof PlayerEntity) {
-            PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-            LivingEntity Identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
-
-            if (Identity != null) {
-                cir.setReturnValue(Identity.getHeight());
-            }
-        }
-    }
-
     @Override
     public void identity_refreshDimensions() {
         EntityDimensions currentDimensions = this.dimensions;
@@ -76,20 +39,4 @@ public abstract class EntityMixin implements DimensionsRefresher {
             this.move(MovementType.SELF, new Vec3d(f, 0.0D, f));
         }
     }
-
-    @Inject(
-            method = "isFireImmune",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void isFireImmune(CallbackInfoReturnable<Boolean> cir) {
-        if ((Object) this instanceof PlayerEntity) {
-            PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-            LivingEntity Identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
-
-            if (Identity != null) {
-                cir.setReturnValue(Identity.getType().isFireImmune());
-            }
-        }
-    }
 }
@@ -2,14 +2,13 @@ package draylar.identity.mixin;
 
 import draylar.identity.Identity;
 import draylar.identity.cca.IdentityComponent;
-import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.goal.FollowTargetGoal;
 import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.entity.passive.FishEntity;
 import net.minecraft.entity.passive.FoxEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.predicate.entity.EntityPredicates;
@@ -41,8 +40,8 @@ public abstract class FoxEntityMixin extends AnimalEntity {
             boolean isIdentityPlayer = false;
 
             if(entity instanceof PlayerEntity) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get((PlayerEntity) entity).getIdentity();
-                if(identity instanceof FoxEntity) {
+                LivingEntity identity = ((IdentityHolder) entity).identity_getIdentity();
+                if(IdentityDispositions.get(IdentityDispositions.FOX, identity) == IdentityDispositions.IGNORE) {
                     isIdentityPlayer = true;
                 }
             }
@@ -64,8 +63,8 @@ public abstract class FoxEntityMixin extends AnimalEntity {
 
             // foxes can target players if their identity is in the fox_prey tag, or if they are an entity that extends FishEntity
             // todo: add baby turtle targeting
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
-            return identity != null && EntityTags.FOX_PREY.contains(identity.getType()) || identity instanceof FishEntity;
+            LivingEntity identity = ((IdentityHolder) player).identity_getIdentity();
+            return IdentityDispositions.get(IdentityDispositions.FOX, identity) == IdentityDispositions.HUNT;
         }));
     }
 }
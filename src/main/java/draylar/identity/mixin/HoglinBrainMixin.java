@@ -1,6 +1,7 @@
 package draylar.identity.mixin;
 
-import draylar.identity.registry.Components;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.mob.HoglinBrain;
@@ -27,13 +28,11 @@ public class HoglinBrainMixin {
 
             // Check if Hoglin target is player
             if(target instanceof PlayerEntity) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get(target).getIdentity();
+                LivingEntity identity = ((IdentityHolder) target).identity_getIdentity();
 
-                // Ensure player identity is valid
-                if(identity != null) {
-                    if(identity instanceof HoglinEntity) {
-                        cir.setReturnValue(Optional.empty());
-                    }
+                // Hoglins should not target players morphed as Hoglins
+                if(IdentityDispositions.get(IdentityDispositions.HOGLIN, identity) == IdentityDispositions.IGNORE) {
+                    cir.setReturnValue(Optional.empty());
                 }
             }
         }
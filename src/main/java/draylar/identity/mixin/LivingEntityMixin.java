@@ -2,20 +2,19 @@ package draylar.identity.mixin;
 
 import draylar.identity.Identity;
 import draylar.identity.cca.UnlockedIdentitiesComponent;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.impl.IdentityPool;
 import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.registry.IdentityTraits;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.attribute.EntityAttribute;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.effect.StatusEffect;
-import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.entity.mob.WaterCreatureEntity;
-import net.minecraft.entity.passive.BatEntity;
-import net.minecraft.entity.passive.DolphinEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.text.TranslatableText;
@@ -70,13 +69,12 @@ public abstract class LivingEntityMixin extends Entity {
                 isNew = true;
             }
 
-            // force-morph player into new type
-            Entity instanced = thisType.create(attacker.world);
-            if(instanced instanceof LivingEntity) {
-                if(Identity.CONFIG.forceChangeNew && isNew) {
-                    Components.CURRENT_IDENTITY.get(attacker).setIdentity((LivingEntity) instanced);
-                } else if (Identity.CONFIG.forceChangeAlways) {
-                    Components.CURRENT_IDENTITY.get(attacker).setIdentity((LivingEntity) instanced);
+            // force-morph player into new type; only build the instance if it will actually be used
+            if((Identity.CONFIG.forceChangeNew && isNew) || Identity.CONFIG.forceChangeAlways) {
+                LivingEntity instanced = IdentityPool.acquire(thisType, attacker.world);
+
+                if(instanced != null) {
+                    Components.CURRENT_IDENTITY.get(attacker).setIdentity(instanced);
                 }
             }
         }
@@ -89,10 +87,10 @@ public abstract class LivingEntityMixin extends Entity {
     private void cancelAirIncrement(LivingEntity livingEntity, int air) {
         // Aquatic creatures should not regenerate breath on land
         if ((Object) this instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+            LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
 
             if (identity != null) {
-                if (Identity.isAquatic(identity)) {
+                if (IdentityTraits.has(identity, IdentityTraits.AQUATIC)) {
                     return;
                 }
             }
@@ -107,10 +105,10 @@ public abstract class LivingEntityMixin extends Entity {
     )
     private boolean slowFall(LivingEntity livingEntity, StatusEffect effect) {
         if((Object) this instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+            LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
 
             if (identity != null) {
-                if (!this.isSneaking() && EntityTags.SLOW_FALLING.contains(identity.getType())) {
+                if (!this.isSneaking() && IdentityTraits.has(identity, IdentityTraits.SLOW_FALLING)) {
                     return true;
                 }
             }
@@ -125,10 +123,10 @@ public abstract class LivingEntityMixin extends Entity {
     )
     private boolean applyWaterCreatureSwimSpeedBoost(LivingEntity livingEntity, StatusEffect effect) {
         if((Object) this instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+            LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
 
             // Apply 'Dolphin's Grace' status effect benefits if the player's Identity is a water creature
-            if (identity instanceof WaterCreatureEntity) {
+            if (IdentityTraits.has(identity, IdentityTraits.WATER_CREATURE)) {
                 return true;
             }
         }
@@ -136,82 +134,21 @@ public abstract class LivingEntityMixin extends Entity {
         return this.hasStatusEffect(StatusEffects.DOLPHINS_GRACE);
     }
 
-    @Inject(
-            method = "handleFallDamage",
-            at = @At(value = "HEAD"),
-            cancellable = true
+    @Redirect(
+            method = "getMaxHealth",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;getAttributeValue(Lnet/minecraft/entity/attribute/EntityAttribute;)D")
     )
-    private void handleFallDamage(float fallDistance, float damageMultiplier, CallbackInfoReturnable<Boolean> cir) {
-        if((Object) this instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+    private double modifyMaxHealth(LivingEntity livingEntity, EntityAttribute attribute) {
+        // getMaxHealth is final, so it cannot be overridden on PlayerEntity; a redirect at least avoids allocating a callback for every entity
+        if (Identity.CONFIG.scalingHealth && (Object) this instanceof PlayerEntity) {
+            LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
 
             if (identity != null) {
-                boolean takesFallDamage = identity.handleFallDamage(fallDistance, damageMultiplier);
-                int damageAmount = ((LivingEntityAccessor) identity).callComputeFallDamage(fallDistance, damageMultiplier);
-
-                if (takesFallDamage && damageAmount > 0) {
-                    this.playSound(((LivingEntityAccessor) identity).callGetFallSound(damageAmount), 1.0F, 1.0F);
-                    ((LivingEntityAccessor) identity).callPlayBlockFallSound();
-                    this.damage(DamageSource.FALL, (float) damageAmount);
-                    cir.setReturnValue(true);
-                } else {
-                    cir.setReturnValue(false);
-                }
-            }
-        }
-    }
-
-    @Inject(
-            method = "hasStatusEffect",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void returnHasNightVision(StatusEffect effect, CallbackInfoReturnable<Boolean> cir) {
-        if((Object) this instanceof PlayerEntity) {
-            if (effect.equals(StatusEffects.NIGHT_VISION)) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
-
-                // Apply 'Night Vision' status effect to player if they are a Bat
-                if (identity instanceof BatEntity) {
-                    cir.setReturnValue(true);
-                }
+                return identity.getMaxHealth();
             }
         }
-    }
 
-    @Inject(
-            method = "getStatusEffect",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void returnNightVisionInstance(StatusEffect effect, CallbackInfoReturnable<StatusEffectInstance> cir) {
-        if((Object) this instanceof PlayerEntity) {
-            if (effect.equals(StatusEffects.NIGHT_VISION)) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
-
-                // Apply 'Night Vision' status effect to player if they are a Bat
-                if (identity instanceof BatEntity) {
-                    cir.setReturnValue(new StatusEffectInstance(StatusEffects.NIGHT_VISION, 100000, 0, false, false));
-                }
-            }
-        }
-    }
-
-    @Inject(
-            method = "getMaxHealth",
-            at = @At("HEAD"),
-            cancellable = true
-    )
-    private void modifyMaxHealth(CallbackInfoReturnable<Float> cir) {
-        if(Identity.CONFIG.scalingHealth) {
-            if ((Object) this instanceof PlayerEntity) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
-
-                if (identity != null) {
-                    cir.setReturnValue(identity.getMaxHealth());
-                }
-            }
-        }
+        return livingEntity.getAttributeValue(attribute);
     }
 
     @Inject(method = "hurtByWater", at = @At("HEAD"), cancellable = true)
@@ -1,10 +1,9 @@
 package draylar.identity.mixin;
 
 import draylar.identity.Identity;
-import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.mob.Monster;
 import net.minecraft.entity.mob.PiglinBrain;
 import net.minecraft.entity.player.PlayerEntity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -24,27 +23,17 @@ public class PiglinBrainMixin {
         boolean shouldAttack = cir.getReturnValue();
 
         if(shouldAttack && target instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(target).getIdentity();
-            boolean hasHostility = Components.HOSTILITY.get(target).hasHostility();
+            LivingEntity identity = ((IdentityHolder) target).identity_getIdentity();
 
-            if(identity != null) {
-                // Piglins should not attack Piglins or Piglin Brutes, unless they have hostility
-                if (EntityTags.PIGLIN_FRIENDLY.contains(identity.getType())) {
-                    cir.setReturnValue(false);
-                }
-
-                // Player has an Identity but is not a piglin, check config for what to do
-                else {
-                    if (Identity.CONFIG.hostilesIgnoreHostileIdentityPlayer && identity instanceof Monster) {
+            // Piglins should not attack Piglins or Piglin Brutes
+            if (IdentityDispositions.get(IdentityDispositions.PIGLIN, identity) == IdentityDispositions.IGNORE) {
+                cir.setReturnValue(false);
+            }
 
-                        // Check hostility for aggro on non-piglin hostiles
-                        if(!hasHostility) {
-                            cir.setReturnValue(false);
-                        } else {
-                            cir.setReturnValue(true);
-                        }
-                    }
-                }
+            // Player has an Identity but is not a piglin, check config for what to do
+            else if (Identity.CONFIG.hostilesIgnoreHostileIdentityPlayer && IdentityDispositions.get(IdentityDispositions.MONSTER, identity) == IdentityDispositions.IGNORE) {
+                // Check hostility for aggro on non-piglin hostiles
+                cir.setReturnValue(((IdentityHolder) target).identity_hasHostility());
             }
         }
     }
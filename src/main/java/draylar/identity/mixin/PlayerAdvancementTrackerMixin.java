@@ -1,6 +1,7 @@
 package draylar.identity.mixin;
 
 import draylar.identity.Identity;
+import draylar.identity.registry.Components;
 import io.github.ladysnake.pal.VanillaAbilities;
 import net.minecraft.advancement.Advancement;
 import net.minecraft.advancement.PlayerAdvancementTracker;
@@ -21,8 +22,23 @@ public class PlayerAdvancementTrackerMixin {
             at = @At(value = "INVOKE", target = "Lnet/minecraft/advancement/AdvancementRewards;apply(Lnet/minecraft/server/network/ServerPlayerEntity;)V")
     )
     private void refreshFlight(Advancement advancement, String criterionName, CallbackInfoReturnable<Boolean> cir) {
-        if(Identity.hasFlyingPermissions(owner)) {
-            Identity.ABILITY_SOURCE.grantTo(owner, VanillaAbilities.ALLOW_FLYING);
+        // completing any other advancement cannot change flight permissions
+        if(Identity.isFlightAdvancement(owner.server, advancement)) {
+            Components.CURRENT_IDENTITY.get(owner).invalidateFlightEligibility();
+
+            if(Identity.hasFlyingPermissions(owner)) {
+                Identity.ABILITY_SOURCE.grantTo(owner, VanillaAbilities.ALLOW_FLYING);
+            }
+        }
+    }
+
+    @Inject(
+            method = "revokeCriterion",
+            at = @At("RETURN")
+    )
+    private void invalidateFlight(Advancement advancement, String criterionName, CallbackInfoReturnable<Boolean> cir) {
+        if(cir.getReturnValue() && Identity.isFlightAdvancement(owner.server, advancement)) {
+            Components.CURRENT_IDENTITY.get(owner).invalidateFlightEligibility();
         }
     }
 }
@@ -1,9 +1,10 @@
 package draylar.identity.mixin;
 
 import draylar.identity.Identity;
+import draylar.identity.impl.IdentityDimensions;
+import draylar.identity.impl.IdentityHolder;
 import draylar.identity.impl.NearbySongAccessor;
-import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.registry.IdentityTraits;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.enchantment.EnchantmentHelper;
@@ -13,8 +14,6 @@ import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.mob.MobEntity;
-import net.minecraft.entity.mob.SpiderEntity;
-import net.minecraft.entity.passive.DolphinEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.sound.SoundEvent;
@@ -29,7 +28,13 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(PlayerEntity.class)
-public abstract class PlayerEntityMixin extends LivingEntityMixin implements NearbySongAccessor {
+public abstract class PlayerEntityMixin extends LivingEntityMixin implements NearbySongAccessor, IdentityHolder {
+
+    // mirrors IdentityComponent#getIdentity so hot paths can skip the component lookup
+    private LivingEntity identity_cachedIdentity = null;
+
+    // mirrors HostilityComponent#hasHostility for mob targeting hooks
+    private boolean identity_hostility = false;
 
     @Shadow
     public abstract boolean isSpectator();
@@ -50,16 +55,16 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             cancellable = true
     )
     private void getDimensions(EntityPose pose, CallbackInfoReturnable<EntityDimensions> cir) {
-        LivingEntity entity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity entity = this.identity_cachedIdentity;
 
         if (entity != null) {
-            cir.setReturnValue(entity.getDimensions(pose));
+            cir.setReturnValue(IdentityDimensions.getDimensions(entity, pose));
         }
     }
 
     @Override
     protected void identity_hurtByWater(CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity entity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity entity = this.identity_cachedIdentity;
 
         if (entity != null) {
             cir.setReturnValue(entity.hurtByWater());
@@ -68,10 +73,10 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Override
     protected void identity_canBreatheInWater(CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity entity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity entity = this.identity_cachedIdentity;
 
         if (entity != null) {
-            cir.setReturnValue(entity.canBreatheInWater() || entity instanceof DolphinEntity || EntityTags.UNDROWNABLE.contains(entity.getType()));
+            cir.setReturnValue(entity.canBreatheInWater() || IdentityTraits.has(entity, IdentityTraits.DOLPHIN | IdentityTraits.UNDROWNABLE));
         }
     }
 
@@ -85,10 +90,10 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             at = @At("HEAD")
     )
     private void tickAquaticBreathingOutsideWater(CallbackInfo ci) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (identity != null) {
-            if (Identity.isAquatic(identity)) {
+            if (IdentityTraits.has(identity, IdentityTraits.AQUATIC)) {
                 int air = this.getAir();
 
                 // copy of WaterCreatureEntity#tickWaterBreathingAir
@@ -133,10 +138,29 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
         return nearbySongPlaying;
     }
 
+    @Override
+    public LivingEntity identity_getIdentity() {
+        return identity_cachedIdentity;
+    }
+
+    @Override
+    public void identity_setIdentity(LivingEntity identity) {
+        this.identity_cachedIdentity = identity;
+    }
+
+    @Override
+    public boolean identity_hasHostility() {
+        return identity_hostility;
+    }
+
+    @Override
+    public void identity_setHostility(boolean hostility) {
+        this.identity_hostility = hostility;
+    }
+
     @Override
     protected void identity_isUndead(CallbackInfoReturnable<Boolean> cir) {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (identity != null) {
             cir.setReturnValue(identity.isUndead());
@@ -145,28 +169,20 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Inject(method = "getActiveEyeHeight", at = @At("HEAD"), cancellable = true)
     private void identity_getActiveEyeHeight(EntityPose pose, EntityDimensions dimensions, CallbackInfoReturnable<Float> cir) {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-
-        // cursed
-        try {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
-
-            if (identity != null) {
-                cir.setReturnValue(((LivingEntityAccessor) identity).callGetActiveEyeHeight(getPose(), getDimensions(getPose())));
-            }
-        } catch (Exception ignored) {
+        LivingEntity identity = this.identity_cachedIdentity;
 
+        if (identity != null) {
+            cir.setReturnValue(IdentityDimensions.getActiveEyeHeight(identity, pose));
         }
     }
 
     @Environment(EnvType.CLIENT)
     @Override
     public float getEyeHeight(EntityPose pose) {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (identity != null) {
-            return identity.getEyeHeight(pose);
+            return IdentityDimensions.getEyeHeight(identity, pose);
         } else {
             return this.getEyeHeight(pose, this.getDimensions(pose));
         }
@@ -174,18 +190,10 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Override
     public float getEyeHeight(EntityPose pose, EntityDimensions dimensions) {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-
-        // this is cursed
-        try {
-            LivingEntity Identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
-
-            if (Identity != null) {
-                return Identity.getEyeHeight(pose, dimensions);
-            }
-
-        } catch (Exception ignored) {
+        LivingEntity identity = this.identity_cachedIdentity;
 
+        if (identity != null) {
+            return IdentityDimensions.getEyeHeight(identity, pose);
         }
 
         return super.getEyeHeight(pose, dimensions);
@@ -193,11 +201,10 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Override
     public float getStandingEyeHeight() {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (identity != null) {
-            return identity.getStandingEyeHeight();
+            return IdentityDimensions.getEyeHeight(identity, getPose());
         }
 
         return super.getStandingEyeHeight();
@@ -205,10 +212,9 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Override
     protected void identity_allowSpiderClimbing(CallbackInfoReturnable<Boolean> cir) {
-        PlayerEntity playerEntity = (PlayerEntity) (Object) this;
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(playerEntity).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
-        if (identity instanceof SpiderEntity) {
+        if (IdentityTraits.has(identity, IdentityTraits.SPIDER)) {
             cir.setReturnValue(this.horizontalCollision);
         }
     }
@@ -219,7 +225,7 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             cancellable = true
     )
     private void getHurtSound(DamageSource source, CallbackInfoReturnable<SoundEvent> cir) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (Identity.CONFIG.useIdentitySounds && identity != null) {
             cir.setReturnValue(((LivingEntityAccessor) identity).callGetHurtSound(source));
@@ -235,7 +241,7 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             at = @At("HEAD")
     )
     private void tickAmbientSounds(CallbackInfo ci) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (!world.isClient && Identity.CONFIG.playAmbientSounds && identity instanceof MobEntity) {
             MobEntity mobIdentity = (MobEntity) identity;
@@ -270,7 +276,7 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             cancellable = true
     )
     private void getDeathSound(CallbackInfoReturnable<SoundEvent> cir) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (Identity.CONFIG.useIdentitySounds && identity != null) {
             cir.setReturnValue(((LivingEntityAccessor) identity).callGetDeathSound());
@@ -283,7 +289,7 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
             cancellable = true
     )
     private void getFallSound(int distance, CallbackInfoReturnable<SoundEvent> cir) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
         if (Identity.CONFIG.useIdentitySounds && identity != null) {
             cir.setReturnValue(((LivingEntityAccessor) identity).callGetFallSound(distance));
@@ -292,9 +298,9 @@ public abstract class PlayerEntityMixin extends LivingEntityMixin implements Nea
 
     @Override
     protected void identity_canWalkOnFluid(Fluid fluid, CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity identity = Components.CURRENT_IDENTITY.get(this).getIdentity();
+        LivingEntity identity = this.identity_cachedIdentity;
 
-        if (identity != null && EntityTags.LAVA_WALKING.contains(identity.getType()) && fluid.isIn(FluidTags.LAVA)) {
+        if (IdentityTraits.has(identity, IdentityTraits.LAVA_WALKING) && fluid.isIn(FluidTags.LAVA)) {
             cir.setReturnValue(true);
         }
     }
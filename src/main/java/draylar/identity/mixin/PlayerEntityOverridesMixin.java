@@ -0,0 +1,84 @@
+package draylar.identity.mixin;
+
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityTraits;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Overrides {@link net.minecraft.entity.Entity} and {@link LivingEntity} methods on {@link PlayerEntity} only.
+ *
+ * <p>These used to be HEAD injections on the base classes, which meant every entity in the world allocated a callback and ran an instanceof check.
+ * Overriding them here (or injecting into the player's own override, as with fall damage) keeps identity logic off non-player entities entirely.
+ */
+@Mixin(PlayerEntity.class)
+public abstract class PlayerEntityOverridesMixin extends LivingEntity {
+
+    private PlayerEntityOverridesMixin(EntityType<? extends LivingEntity> type, World world) {
+        super(type, world);
+    }
+
+    @Override
+    public boolean isFireImmune() {
+        LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
+
+        if (identity != null) {
+            return identity.getType().isFireImmune();
+        }
+
+        return super.isFireImmune();
+    }
+
+    @Override
+    public boolean hasStatusEffect(StatusEffect effect) {
+        // Apply 'Night Vision' status effect to player if they are a Bat
+        if (effect == StatusEffects.NIGHT_VISION && IdentityTraits.has(((IdentityHolder) this).identity_getIdentity(), IdentityTraits.BAT)) {
+            return true;
+        }
+
+        return super.hasStatusEffect(effect);
+    }
+
+    @Override
+    public StatusEffectInstance getStatusEffect(StatusEffect effect) {
+        // Apply 'Night Vision' status effect to player if they are a Bat
+        if (effect == StatusEffects.NIGHT_VISION && IdentityTraits.has(((IdentityHolder) this).identity_getIdentity(), IdentityTraits.BAT)) {
+            return new StatusEffectInstance(StatusEffects.NIGHT_VISION, 100000, 0, false, false);
+        }
+
+        return super.getStatusEffect(effect);
+    }
+
+    @Inject(
+            method = "handleFallDamage",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;handleFallDamage(FF)Z"),
+            cancellable = true
+    )
+    private void handleFallDamage(float fallDistance, float damageMultiplier, CallbackInfoReturnable<Boolean> cir) {
+        LivingEntity identity = ((IdentityHolder) this).identity_getIdentity();
+
+        if (identity != null) {
+            boolean takesFallDamage = identity.handleFallDamage(fallDistance, damageMultiplier);
+            int damageAmount = ((LivingEntityAccessor) identity).callComputeFallDamage(fallDistance, damageMultiplier);
+
+            if (takesFallDamage && damageAmount > 0) {
+                this.playSound(((LivingEntityAccessor) identity).callGetFallSound(damageAmount), 1.0F, 1.0F);
+                ((LivingEntityAccessor) identity).callPlayBlockFallSound();
+                this.damage(DamageSource.FALL, (float) damageAmount);
+                cir.setReturnValue(true);
+            } else {
+                cir.setReturnValue(false);
+            }
+        }
+    }
+}
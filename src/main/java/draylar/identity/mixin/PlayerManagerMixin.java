@@ -4,7 +4,6 @@ import draylar.identity.Identity;
 import draylar.identity.api.event.PlayerJoinCallback;
 import draylar.identity.impl.DimensionsRefresher;
 import draylar.identity.registry.Components;
-import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.network.ClientConnection;
@@ -43,7 +42,7 @@ public class PlayerManagerMixin {
         if (identity != null && Identity.CONFIG.scalingHealth) {
             player.setHealth(Math.min(player.getHealth(), identity.getMaxHealth()));
             player.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH).setBaseValue(Math.min(Identity.CONFIG.maxHealth, identity.getMaxHealth()));
-            ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, new EntityAttributesS2CPacket(player.getEntityId(), player.getAttributes().getAttributesToSend()));
+            player.networkHandler.sendPacket(new EntityAttributesS2CPacket(player.getEntityId(), player.getAttributes().getAttributesToSend()));
         }
     }
 }
@@ -1,7 +1,7 @@
 package draylar.identity.mixin;
 
-import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityTraits;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
@@ -19,9 +19,9 @@ public class PlayerSwimmingMixin {
     private void onGolemSwimUp(Tag<Fluid> fluid, CallbackInfo ci) {
         LivingEntity thisEntity = (LivingEntity) (Object) this;
         if(thisEntity instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get((PlayerEntity) thisEntity).getIdentity();
+            LivingEntity identity = ((IdentityHolder) thisEntity).identity_getIdentity();
 
-            if(identity != null && EntityTags.CANT_SWIM.contains(identity.getType())) {
+            if(IdentityTraits.has(identity, IdentityTraits.CANT_SWIM)) {
                 ci.cancel();
             }
         }
@@ -0,0 +1,15 @@
+package draylar.identity.mixin;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.ai.brain.sensor.VillagerHostilesSensor;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(VillagerHostilesSensor.class)
+public interface VillagerHostilesSensorAccessor {
+    @Accessor("SQUARED_DISTANCES_FOR_DANGER")
+    static ImmutableMap<EntityType<?>, Float> getSquaredDistancesForDanger() {
+        throw new UnsupportedOperationException();
+    }
+}
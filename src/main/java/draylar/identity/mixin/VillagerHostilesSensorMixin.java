@@ -2,7 +2,8 @@ package draylar.identity.mixin;
 
 import com.google.common.collect.ImmutableMap;
 import draylar.identity.Identity;
-import draylar.identity.registry.Components;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.brain.sensor.VillagerHostilesSensor;
@@ -28,10 +29,10 @@ public class VillagerHostilesSensorMixin {
         if(entity instanceof PlayerEntity) {
             // check if we should be performing this from config
             if(Identity.CONFIG.villagersRunFromIdentities) {
-                LivingEntity identity = Components.CURRENT_IDENTITY.get(entity).getIdentity();
+                LivingEntity identity = ((IdentityHolder) entity).identity_getIdentity();
 
                 // check if identity is valid & if it is a type villagers run from
-                if (identity != null && SQUARED_DISTANCES_FOR_DANGER.containsKey(identity.getType())) {
+                if (IdentityDispositions.get(IdentityDispositions.VILLAGER, identity) == IdentityDispositions.FLEE) {
                     cir.setReturnValue(true);
                 }
             }
@@ -46,10 +47,10 @@ public class VillagerHostilesSensorMixin {
     private void checkPlayerDanger(LivingEntity villager, LivingEntity potentialPlayer, CallbackInfoReturnable<Boolean> cir) {
         // should only be called if the above mixin passes, so we can assume the config option is true
         if(potentialPlayer instanceof PlayerEntity) {
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(potentialPlayer).getIdentity();
+            LivingEntity identity = ((IdentityHolder) potentialPlayer).identity_getIdentity();
 
             // check if identity is valid & if it is a type villagers run from
-            if (identity != null && SQUARED_DISTANCES_FOR_DANGER.containsKey(identity.getType())) {
+            if (IdentityDispositions.get(IdentityDispositions.VILLAGER, identity) == IdentityDispositions.FLEE) {
                 float f = SQUARED_DISTANCES_FOR_DANGER.get(identity.getType());
                 cir.setReturnValue(potentialPlayer.squaredDistanceTo(villager) <= (double) (f * f));
             } else {
@@ -1,8 +1,8 @@
 package draylar.identity.mixin;
 
 import draylar.identity.Identity;
-import draylar.identity.registry.Components;
-import draylar.identity.registry.EntityTags;
+import draylar.identity.impl.IdentityHolder;
+import draylar.identity.registry.IdentityDispositions;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.goal.FollowTargetGoal;
@@ -35,7 +35,7 @@ public abstract class WolfEntityMixin extends TameableEntity {
                 return false;
             }
 
-            LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
+            LivingEntity identity = ((IdentityHolder) player).identity_getIdentity();
 
             // wolves should ignore players that look like their prey if they have an owner,
             // unless the config option is turned to true
@@ -44,7 +44,7 @@ public abstract class WolfEntityMixin extends TameableEntity {
                 return false;
             }
 
-            return identity != null && EntityTags.WOLF_PREY.contains(identity.getType());
+            return IdentityDispositions.get(IdentityDispositions.WOLF, identity) == IdentityDispositions.HUNT;
         }));
     }
 }
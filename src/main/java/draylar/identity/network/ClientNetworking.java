@@ -1,22 +1,160 @@
 package draylar.identity.network;
 
 import draylar.identity.IdentityClient;
-import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.PacketByteBuf;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ClientNetworking implements NetworkHandler {
 
+    private static PacketByteBuf pendingHandshakeState = null;
+    private static final List<PacketByteBuf> DEFERRED_SYNCS = new ArrayList<>();
+
     public static void sendAbilityRequest() {
-        ClientPlayNetworking.send(USE_ABILITY, new PacketByteBuf(Unpooled.buffer()));
+        // empty payloads share a single zero-length buffer
+        ClientPlayNetworking.send(USE_ABILITY, PacketByteBufs.empty());
+    }
+
+    public static void requestUnlockedResync() {
+        ClientPlayNetworking.send(UNLOCKED_RESYNC, PacketByteBufs.empty());
+    }
+
+    /**
+     * Asks the server to swap the player's identity to the given type.
+     *
+     * @param type  requested identity type, or {@link EntityType#PLAYER} to clear the identity
+     */
+    public static void sendIdentityRequest(EntityType<?> type) {
+        PacketByteBuf packet = PacketByteBufs.create();
+        packet.writeVarInt(EntityTypePalette.toServerId(type));
+        ClientPlayNetworking.send(IDENTITY_REQUEST, packet);
+    }
+
+    /**
+     * Updates the favorite status of the given identity type on the server.
+     *
+     * @param type      identity type
+     * @param favorite  whether the type should be favorited
+     */
+    public static void sendFavoriteUpdate(EntityType<?> type, boolean favorite) {
+        PacketByteBuf packet = PacketByteBufs.create();
+        packet.writeVarInt(EntityTypePalette.toServerId(type));
+        packet.writeBoolean(favorite);
+        ClientPlayNetworking.send(FAVORITE_UPDATE, packet);
     }
 
     public static void init() {
-        ClientSidePacketRegistry.INSTANCE.register(CAN_OPEN_MENU, ((context, packet) -> {
+        ClientPlayNetworking.registerGlobalReceiver(HANDSHAKE, (client, handler, packet, responseSender) -> {
+            // a different protocol version means the rest of the payload cannot be read
+            if (packet.readVarInt() != HANDSHAKE_VERSION) {
+                return;
+            }
+
             IdentityClient.enableMenu = packet.readBoolean();
             IdentityClient.showNametags = packet.readBoolean();
-        }));
+            EntityTypePalette.read(packet);
+
+            // the handshake arrives before the client player exists; component state is applied on the first tick with a player
+            PacketByteBuf state = new PacketByteBuf(packet.copy());
+            client.execute(() -> {
+                // syncs received before this handshake are older than its state
+                clearPendingState();
+                pendingHandshakeState = state;
+            });
+        });
+
+        ClientTickEvents.START_CLIENT_TICK.register(client -> {
+            if (pendingHandshakeState != null && client.player != null) {
+                try {
+                    applyComponents(client.player, pendingHandshakeState);
+                } finally {
+                    pendingHandshakeState.release();
+                    pendingHandshakeState = null;
+                }
+
+                // syncs received while the handshake was pending are newer, apply them on top in the order they arrived
+                try {
+                    for (PacketByteBuf deferred : DEFERRED_SYNCS) {
+                        applyComponentSync(client, deferred);
+                    }
+                } finally {
+                    DEFERRED_SYNCS.forEach(PacketByteBuf::release);
+                    DEFERRED_SYNCS.clear();
+                }
+            }
+        });
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(ClientNetworking::clearPendingState));
+
+        ClientPlayNetworking.registerGlobalReceiver(COMPONENT_SYNC, (client, handler, buf, responseSender) -> {
+            // the received buffer is released after this handler returns, so keep a copy for the main thread
+            PacketByteBuf packet = new PacketByteBuf(buf.copy());
+
+            client.execute(() -> {
+                // applying now would be overwritten by the older handshake state once it is applied
+                if (pendingHandshakeState != null) {
+                    DEFERRED_SYNCS.add(packet);
+                    return;
+                }
+
+                try {
+                    applyComponentSync(client, packet);
+                } finally {
+                    packet.release();
+                }
+            });
+        });
+    }
+
+    private static void clearPendingState() {
+        if (pendingHandshakeState != null) {
+            pendingHandshakeState.release();
+            pendingHandshakeState = null;
+        }
+
+        DEFERRED_SYNCS.forEach(PacketByteBuf::release);
+        DEFERRED_SYNCS.clear();
+    }
+
+    /**
+     * Applies a batched component packet written by {@link ComponentSyncQueue} to the player it targets.
+     *
+     * @param client  client instance
+     * @param packet  batched component data
+     */
+    private static void applyComponentSync(MinecraftClient client, PacketByteBuf packet) {
+        int entityId = packet.readVarInt();
+        Entity entity = client.world == null ? null : client.world.getEntityById(entityId);
+
+        // the player may have left tracking range before the packet arrived
+        if (entity instanceof PlayerEntity) {
+            applyComponents((PlayerEntity) entity, packet);
+        }
+    }
+
+    /**
+     * Reads a component bitmask followed by the sync data of each component in it, and applies them to the given player.
+     *
+     * @param player  player the components are attached to
+     * @param packet  component mask and sync data
+     */
+    private static void applyComponents(PlayerEntity player, PacketByteBuf packet) {
+        int mask = packet.readByte();
+
+        for (int i = 0; i < ComponentSyncQueue.KEYS.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                ComponentSyncQueue.KEYS.get(i).get(player).applySyncPacket(packet);
+            }
+        }
     }
 
     private ClientNetworking() {
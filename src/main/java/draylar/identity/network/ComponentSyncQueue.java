@@ -0,0 +1,150 @@
+package draylar.identity.network;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import draylar.identity.cca.BatchSyncedComponent;
+import draylar.identity.registry.Components;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.fabric.api.server.PlayerLookup;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects component changes made during a server tick and sends them as a single {@link NetworkHandler#COMPONENT_SYNC} packet per recipient at the end of the tick.
+ *
+ * <p>A burst of changes to one player (eg. a kill that unlocks, equips, and resets an ability in the same tick) costs one packet instead of one per component.
+ * The packet holds the player's entity ID, a bitmask of the components that follow (indexed by {@link ComponentSyncQueue#KEYS}), and each component's sync data in order.
+ */
+public class ComponentSyncQueue implements NetworkHandler {
+
+    /**
+     * Synced components in packet order. A component's index in this list is its bit in the packet mask.
+     */
+    static final List<ComponentKey<? extends BatchSyncedComponent>> KEYS = Arrays.asList(
+            Components.CURRENT_IDENTITY,
+            Components.UNLOCKED_IDENTITIES,
+            Components.FAVORITE_IDENTITIES,
+            Components.ABILITY
+    );
+
+    private static final Map<ServerPlayerEntity, Integer> DIRTY = new LinkedHashMap<>();
+    private static final Set<ServerPlayerEntity> HANDSHAKES = new HashSet<>();
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> flush());
+    }
+
+    /**
+     * Marks the given component of the given player as changed. Pending changes are sent at the end of the current server tick.
+     *
+     * <p>Calls on the client are ignored.
+     *
+     * @param player  player the component is attached to
+     * @param key     key of the changed component
+     */
+    public static void markDirty(PlayerEntity player, ComponentKey<? extends BatchSyncedComponent> key) {
+        if (player instanceof ServerPlayerEntity) {
+            DIRTY.merge((ServerPlayerEntity) player, 1 << KEYS.indexOf(key), (first, second) -> first | second);
+        }
+    }
+
+    /**
+     * Writes the full state of every synced component of the given player into its join handshake.
+     *
+     * <p>Until the end of the current tick, {@link ComponentSyncQueue#receivedHandshake(ServerPlayerEntity)} returns true for the player,
+     * which components use to skip CCA's own join sync.
+     *
+     * @param player  joining player
+     * @param buf     handshake packet data
+     */
+    static void writeHandshake(ServerPlayerEntity player, PacketByteBuf buf) {
+        buf.writeByte((1 << KEYS.size()) - 1);
+
+        for (ComponentKey<? extends BatchSyncedComponent> key : KEYS) {
+            key.get(player).writeSyncPacket(buf, player);
+        }
+
+        HANDSHAKES.add(player);
+    }
+
+    /**
+     * @param player  player that would receive a component sync
+     * @return whether the player received their component state through the join handshake during the current tick
+     */
+    public static boolean receivedHandshake(ServerPlayerEntity player) {
+        return HANDSHAKES.contains(player);
+    }
+
+    private static void flush() {
+        // changes made after the handshake was written still need to go out
+        HANDSHAKES.clear();
+
+        Iterator<Map.Entry<ServerPlayerEntity, Integer>> iterator = DIRTY.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<ServerPlayerEntity, Integer> entry = iterator.next();
+            ServerPlayerEntity player = entry.getKey();
+            int mask = entry.getValue();
+            iterator.remove();
+
+            // players that disconnected or were replaced on respawn are re-synced by CCA
+            if (player.removed || player.isDisconnected()) {
+                continue;
+            }
+
+            send(player, player, mask);
+
+            for (ServerPlayerEntity watcher : PlayerLookup.tracking(player)) {
+                if (watcher != player) {
+                    send(player, watcher, mask);
+                }
+            }
+
+            for (int i = 0; i < KEYS.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    KEYS.get(i).get(player).onBatchSynced();
+                }
+            }
+        }
+    }
+
+    private static void send(ServerPlayerEntity player, ServerPlayerEntity recipient, int mask) {
+        // only keep components that want to sync with this recipient
+        int recipientMask = 0;
+        for (int i = 0; i < KEYS.size(); i++) {
+            if ((mask & (1 << i)) != 0 && KEYS.get(i).get(player).shouldBatchSyncWith(recipient)) {
+                recipientMask |= 1 << i;
+            }
+        }
+
+        if (recipientMask == 0) {
+            return;
+        }
+
+        PacketByteBuf packet = PacketByteBufs.create();
+        packet.writeVarInt(player.getEntityId());
+        packet.writeByte(recipientMask);
+
+        for (int i = 0; i < KEYS.size(); i++) {
+            if ((recipientMask & (1 << i)) != 0) {
+                KEYS.get(i).get(player).writeBatchSyncPacket(packet, recipient);
+            }
+        }
+
+        ServerPlayNetworking.send(recipient, COMPONENT_SYNC, packet);
+    }
+
+    private ComponentSyncQueue() {
+        // NO-OP
+    }
+}
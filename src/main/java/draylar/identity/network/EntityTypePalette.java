@@ -0,0 +1,106 @@
+package draylar.identity.network;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.util.Arrays;
+
+/**
+ * Maps entity types to the raw registry IDs used by the server, so identity references can be sent as a single VarInt.
+ *
+ * <p>The server sends its palette once when a player joins (see {@link ServerNetworking#sendHandshake(net.minecraft.server.network.ServerPlayerEntity)}).
+ * Every later packet refers to entity types by the server's raw ID: the server reads them with {@link Registry#get(int)} directly,
+ * while the client translates them with {@link EntityTypePalette#fromServerId(int)} and {@link EntityTypePalette#toServerId(EntityType)}.
+ * Until a palette has been received, the client falls back to its own raw IDs.
+ */
+public class EntityTypePalette {
+
+    private static volatile EntityType<?>[] byServerId = null;
+    private static volatile int[] serverIdByClientId = null;
+
+    /**
+     * Writes the server's entity type palette (raw ID and identifier of every registered entity type).
+     *
+     * @param buf  packet to write the palette to
+     */
+    public static void write(PacketByteBuf buf) {
+        buf.writeVarInt(Registry.ENTITY_TYPE.getIds().size());
+
+        for (EntityType<?> type : Registry.ENTITY_TYPE) {
+            buf.writeVarInt(Registry.ENTITY_TYPE.getRawId(type));
+            buf.writeIdentifier(Registry.ENTITY_TYPE.getId(type));
+        }
+    }
+
+    /**
+     * Reads a palette written by {@link EntityTypePalette#write(PacketByteBuf)} and makes it the active client palette.
+     *
+     * <p>Server entity types that do not exist on the client map to null.
+     *
+     * @param buf  packet to read the palette from
+     */
+    public static void read(PacketByteBuf buf) {
+        int size = buf.readVarInt();
+        EntityType<?>[] byServerId = new EntityType<?>[size];
+        int[] serverIdByClientId = new int[Registry.ENTITY_TYPE.getIds().size()];
+        Arrays.fill(serverIdByClientId, -1);
+
+        for (int i = 0; i < size; i++) {
+            int serverId = buf.readVarInt();
+            Identifier id = buf.readIdentifier();
+            EntityType<?> type = Registry.ENTITY_TYPE.getOrEmpty(id).orElse(null);
+
+            if (serverId >= byServerId.length) {
+                byServerId = Arrays.copyOf(byServerId, serverId + 1);
+            }
+
+            byServerId[serverId] = type;
+
+            if (type != null) {
+                int clientId = Registry.ENTITY_TYPE.getRawId(type);
+
+                if (clientId >= 0 && clientId < serverIdByClientId.length) {
+                    serverIdByClientId[clientId] = serverId;
+                }
+            }
+        }
+
+        EntityTypePalette.serverIdByClientId = serverIdByClientId;
+        EntityTypePalette.byServerId = byServerId;
+    }
+
+    /**
+     * @param serverId  raw ID of an entity type on the server
+     * @return the client entity type for the given server raw ID, or null if it does not exist on the client
+     */
+    public static EntityType<?> fromServerId(int serverId) {
+        EntityType<?>[] palette = byServerId;
+
+        if (palette == null) {
+            return Registry.ENTITY_TYPE.getIds().size() > serverId && serverId >= 0 ? Registry.ENTITY_TYPE.get(serverId) : null;
+        }
+
+        return serverId >= 0 && serverId < palette.length ? palette[serverId] : null;
+    }
+
+    /**
+     * @param type  client entity type
+     * @return the raw ID the server uses for the given entity type, or -1 if the server does not know it
+     */
+    public static int toServerId(EntityType<?> type) {
+        int[] palette = serverIdByClientId;
+        int clientId = Registry.ENTITY_TYPE.getRawId(type);
+
+        if (palette == null) {
+            return clientId;
+        }
+
+        return clientId >= 0 && clientId < palette.length ? palette[clientId] : -1;
+    }
+
+    private EntityTypePalette() {
+        // NO-OP
+    }
+}
@@ -4,8 +4,12 @@ import draylar.identity.Identity;
 import net.minecraft.util.Identifier;
 
 public interface NetworkHandler {
-    Identifier CAN_OPEN_MENU = Identity.id("can_open_menu");
+    int HANDSHAKE_VERSION = 1;
+
+    Identifier HANDSHAKE = Identity.id("handshake");
     Identifier IDENTITY_REQUEST = Identity.id("request");
     Identifier FAVORITE_UPDATE = Identity.id("favorite");
     Identifier USE_ABILITY = Identity.id("use_ability");
+    Identifier COMPONENT_SYNC = Identity.id("component_sync");
+    Identifier UNLOCKED_RESYNC = Identity.id("unlocked_resync");
 }
@@ -2,14 +2,14 @@ package draylar.identity.network;
 
 import draylar.identity.Identity;
 import draylar.identity.ability.AbilityRegistry;
+import draylar.identity.impl.IdentityPool;
 import draylar.identity.registry.Components;
-import io.netty.buffer.Unpooled;
-import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.registry.Registry;
 
 public class ServerNetworking implements NetworkHandler {
@@ -18,10 +18,19 @@ public class ServerNetworking implements NetworkHandler {
         registerIdentityRequestPacketHandler();
         registerFavoritePacketHandler();
         registerUseAbilityPacketHandler();
+        registerUnlockedResyncPacketHandler();
+        ComponentSyncQueue.init();
+        SwapRequestLimiter.init();
+    }
+
+    private static void registerUnlockedResyncPacketHandler() {
+        ServerPlayNetworking.registerGlobalReceiver(UNLOCKED_RESYNC, (server, player, handler, buf, responseSender) -> {
+            server.execute(() -> Components.UNLOCKED_IDENTITIES.get(player).requestFullSync());
+        });
     }
 
     private static void registerUseAbilityPacketHandler() {
-        ServerPlayNetworking.registerGlobalReceiver(USE_ABILITY, (server, player, handler, buf, responseSender) -> {
+        ServerPlayNetworking.registerGlobalReceiver(USE_ABILITY, (server, player, handler, buf, responseSender) -> server.execute(() -> {
             LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
 
             // Verify we should use ability for the player's current identity
@@ -37,46 +46,74 @@ public class ServerNetworking implements NetworkHandler {
                     }
                 }
             }
-        });
+        }));
     }
 
     private static void registerIdentityRequestPacketHandler() {
-        ServerSidePacketRegistry.INSTANCE.register(IDENTITY_REQUEST, (context, packet) -> {
-            EntityType<?> type = Registry.ENTITY_TYPE.get(packet.readIdentifier());
+        ServerPlayNetworking.registerGlobalReceiver(IDENTITY_REQUEST, (server, player, handler, buf, responseSender) -> {
+            EntityType<?> type = Registry.ENTITY_TYPE.get(buf.readVarInt());
 
-            // Ensure player has permission to switch identities
-            if (Identity.CONFIG.enableSwaps || context.getPlayer().hasPermissionLevel(3)) {
-                if (type.equals(EntityType.PLAYER)) {
-                    Components.CURRENT_IDENTITY.get(context.getPlayer()).setIdentity(null);
-                } else {
-                    Components.CURRENT_IDENTITY.get(context.getPlayer()).setIdentity((LivingEntity) type.create(context.getPlayer().world));
-                }
+            // requests are rate-limited and coalesced; the last accepted one is applied at the start of the next tick
+            server.execute(() -> SwapRequestLimiter.submit(player, type));
+        });
+    }
 
-                // Refresh player dimensions
-                context.getPlayer().calculateDimensions();
+    /**
+     * Swaps the given player's identity to the requested type, or clears it if the type is {@link EntityType#PLAYER}.
+     *
+     * @param player  player that requested the swap
+     * @param type    requested identity type
+     */
+    static void handleIdentityRequest(ServerPlayerEntity player, EntityType<?> type) {
+        // Ensure player has permission to switch identities
+        if (Identity.CONFIG.enableSwaps || player.hasPermissionLevel(3)) {
+            if (type.equals(EntityType.PLAYER)) {
+                Components.CURRENT_IDENTITY.get(player).setIdentity(null);
+            } else {
+                LivingEntity created = IdentityPool.acquire(type, player.world);
+
+                if (created != null) {
+                    Components.CURRENT_IDENTITY.get(player).setIdentity(created);
+                }
             }
-        });
+
+            // Refresh player dimensions
+            player.calculateDimensions();
+        }
     }
 
     private static void registerFavoritePacketHandler() {
-        ServerSidePacketRegistry.INSTANCE.register(FAVORITE_UPDATE, (context, packet) -> {
-            EntityType<?> type = Registry.ENTITY_TYPE.get(packet.readIdentifier());
-            boolean favorite = packet.readBoolean();
-            PlayerEntity player = context.getPlayer();
+        ServerPlayNetworking.registerGlobalReceiver(FAVORITE_UPDATE, (server, player, handler, buf, responseSender) -> {
+            EntityType<?> type = Registry.ENTITY_TYPE.get(buf.readVarInt());
+            boolean favorite = buf.readBoolean();
 
-            if(favorite) {
-                Components.FAVORITE_IDENTITIES.get(player).favorite(type);
-            } else {
-                Components.FAVORITE_IDENTITIES.get(player).unfavorite(type);
-            }
+            server.execute(() -> {
+                if(favorite) {
+                    Components.FAVORITE_IDENTITIES.get(player).favorite(type);
+                } else {
+                    Components.FAVORITE_IDENTITIES.get(player).unfavorite(type);
+                }
+            });
         });
     }
 
-    public static void updateClientConfig(PlayerEntity player) {
-        PacketByteBuf packet = new PacketByteBuf(Unpooled.buffer());
+    /**
+     * Sends the join handshake to the given player.
+     *
+     * <p>The handshake bundles everything a client needs when joining into one packet:
+     * the protocol version, server-authoritative config flags, the {@link EntityTypePalette},
+     * and the initial state of the player's own identity components. CCA's separate join syncs of those components are skipped.
+     *
+     * @param player  player that is joining the server
+     */
+    public static void sendHandshake(ServerPlayerEntity player) {
+        PacketByteBuf packet = PacketByteBufs.create();
+        packet.writeVarInt(HANDSHAKE_VERSION);
         packet.writeBoolean(Identity.CONFIG.enableClientSwapMenu);
         packet.writeBoolean(Identity.CONFIG.showPlayerNametag);
-        ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, CAN_OPEN_MENU, packet);
+        EntityTypePalette.write(packet);
+        ComponentSyncQueue.writeHandshake(player, packet);
+        ServerPlayNetworking.send(player, HANDSHAKE, packet);
     }
 
     private ServerNetworking() {
@@ -0,0 +1,122 @@
+package draylar.identity.network;
+
+import draylar.identity.Identity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.EntityType;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Throttles {@link NetworkHandler#IDENTITY_REQUEST} packets.
+ *
+ * <p>Each player has a token bucket that holds up to {@link draylar.identity.config.IdentityConfig#swapRequestBurst} tokens
+ * and refills at {@link draylar.identity.config.IdentityConfig#swapRequestsPerSecond}. Requests that arrive with an empty bucket are rejected.
+ * Accepted requests are not applied immediately: they are held until the start of the next server tick, and if several arrive in between,
+ * only the last one is applied (last-write-wins).
+ *
+ * <p>Buckets are keyed by player UUID, so respawning or leaving the End (which creates a new player entity) does not refill them.
+ * They are dropped when the player disconnects.
+ *
+ * <p>Rejected and coalesced requests are counted, see {@link SwapRequestLimiter#getRejectedCount()} and {@link SwapRequestLimiter#getCoalescedCount()}.
+ * Both are reported by {@code /identity stats}.
+ */
+public class SwapRequestLimiter {
+
+    private static final Map<UUID, TokenBucket> BUCKETS = new HashMap<>();
+    private static final Map<ServerPlayerEntity, EntityType<?>> PENDING = new LinkedHashMap<>();
+    private static long rejected = 0;
+    private static long coalesced = 0;
+
+    public static void init() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> flush());
+
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            BUCKETS.remove(handler.player.getUuid());
+            PENDING.remove(handler.player);
+        });
+    }
+
+    /**
+     * Submits a swap request from the given player. Must be called on the server thread.
+     *
+     * @param player  player requesting the swap
+     * @param type    requested identity type, or {@link EntityType#PLAYER} to clear the identity
+     */
+    public static void submit(ServerPlayerEntity player, EntityType<?> type) {
+        // a request is already waiting for this tick, replace it without spending another token
+        if (PENDING.containsKey(player)) {
+            PENDING.put(player, type);
+            coalesced++;
+            return;
+        }
+
+        TokenBucket bucket = BUCKETS.computeIfAbsent(player.getUuid(), uuid -> new TokenBucket(player.server.getTicks()));
+        if (!bucket.tryConsume(player.server.getTicks())) {
+            rejected++;
+            return;
+        }
+
+        PENDING.put(player, type);
+    }
+
+    private static void flush() {
+        Iterator<Map.Entry<ServerPlayerEntity, EntityType<?>>> iterator = PENDING.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<ServerPlayerEntity, EntityType<?>> entry = iterator.next();
+            iterator.remove();
+
+            if (!entry.getKey().removed) {
+                ServerNetworking.handleIdentityRequest(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return the number of swap requests dropped because the sender's token bucket was empty
+     */
+    public static long getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * @return the number of swap requests replaced by a later request from the same player before being applied
+     */
+    public static long getCoalescedCount() {
+        return coalesced;
+    }
+
+    private static class TokenBucket {
+
+        private double tokens;
+        private int lastRefill;
+
+        private TokenBucket(int tick) {
+            this.tokens = Identity.CONFIG.swapRequestBurst;
+            this.lastRefill = tick;
+        }
+
+        private boolean tryConsume(int tick) {
+            double capacity = Identity.CONFIG.swapRequestBurst;
+            tokens = Math.min(capacity, tokens + (tick - lastRefill) * Identity.CONFIG.swapRequestsPerSecond / 20.0);
+            lastRefill = tick;
+
+            if (tokens >= 1) {
+                tokens--;
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    private SwapRequestLimiter() {
+        // NO-OP
+    }
+}
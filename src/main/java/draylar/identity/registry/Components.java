@@ -35,7 +35,7 @@ public class Components implements EntityComponentInitializer {
         registry.registerForPlayers(Components.CURRENT_IDENTITY, IdentityComponent::new, RespawnCopyStrategy.ALWAYS_COPY);
         registry.registerForPlayers(Components.UNLOCKED_IDENTITIES, UnlockedIdentitiesComponent::new, RespawnCopyStrategy.ALWAYS_COPY);
         registry.registerForPlayers(Components.FAVORITE_IDENTITIES, FavoriteIdentitiesComponent::new, RespawnCopyStrategy.ALWAYS_COPY);
-        registry.registerForPlayers(Components.HOSTILITY, player -> new HostilityComponent(), RespawnCopyStrategy.ALWAYS_COPY);
+        registry.registerForPlayers(Components.HOSTILITY, HostilityComponent::new, RespawnCopyStrategy.ALWAYS_COPY);
         registry.registerForPlayers(Components.ABILITY, AbilityComponent::new, RespawnCopyStrategy.ALWAYS_COPY);
     }
 }
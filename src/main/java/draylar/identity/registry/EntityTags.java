@@ -20,6 +20,7 @@ public class EntityTags {
     public static final Tag<EntityType<?>> LAVA_WALKING = register("lava_walking");
     public static final Tag<EntityType<?>> CANT_SWIM = register("cant_swim");
     public static final Tag<EntityType<?>> UNDROWNABLE = register("undrownable");
+    public static final Tag<EntityType<?>> INSTANCE_SIZED = register("instance_sized");
 
     private EntityTags() { }
 
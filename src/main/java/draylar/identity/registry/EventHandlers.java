@@ -2,12 +2,16 @@ package draylar.identity.registry;
 
 import draylar.identity.Identity;
 import draylar.identity.api.event.PlayerJoinCallback;
+import draylar.identity.impl.IdentityPool;
 import draylar.identity.network.ServerNetworking;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
 import net.fabricmc.fabric.api.event.player.UseEntityCallback;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.mob.HostileEntity;
 import net.minecraft.entity.mob.RavagerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.ActionResult;
 
 public class EventHandlers {
@@ -27,7 +31,7 @@ public class EventHandlers {
             if(entity instanceof RavagerEntity) {
                 LivingEntity identity = Components.CURRENT_IDENTITY.get(player).getIdentity();
 
-                if(EntityTags.RAVAGER_RIDING.contains(identity.getType())) {
+                if(IdentityTraits.has(identity, IdentityTraits.RAVAGER_RIDING)) {
                     player.startRiding(entity);
                 }
             }
@@ -35,6 +39,15 @@ public class EventHandlers {
             return ActionResult.PASS;
         });
 
-        PlayerJoinCallback.EVENT.register(ServerNetworking::updateClientConfig);
+        PlayerJoinCallback.EVENT.register(ServerNetworking::sendHandshake);
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> IdentityPool.clear(world));
+
+        // Reloading datapacks replaces the advancements required for flight, so cached flight permissions are stale.
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, serverResourceManager, success) -> {
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                Components.CURRENT_IDENTITY.get(player).invalidateFlightEligibility();
+            }
+        });
     }
 }
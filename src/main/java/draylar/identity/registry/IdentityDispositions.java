@@ -0,0 +1,141 @@
+package draylar.identity.registry;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.boss.WitherEntity;
+import net.minecraft.entity.mob.CreeperEntity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.mob.Monster;
+import net.minecraft.util.registry.Registry;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed matrix of how each category of mob reacts to a player disguised as each identity type.
+ *
+ * <p>A row of dispositions (one per mob category) is derived from the identity's {@link IdentityTraits} the first time the identity type is seen,
+ * and recomputed only if those traits change (for example after a tag reload).
+ * Config options and player hostility are not part of the matrix; AI hooks apply them on top of the looked up disposition.
+ *
+ * <p>Usage: {@code IdentityDispositions.get(IdentityDispositions.WOLF, identity) == IdentityDispositions.HUNT}.
+ */
+public class IdentityDispositions {
+
+    // dispositions
+    public static final int NORMAL = 0;
+    public static final int IGNORE = 1;
+    public static final int HUNT = 2;
+    public static final int FLEE = 3;
+
+    // mob categories
+    public static final int MONSTER = 0;
+    public static final int CREEPER = 1;
+    public static final int WITHER = 2;
+    public static final int PIGLIN = 3;
+    public static final int HOGLIN = 4;
+    public static final int VILLAGER = 5;
+    public static final int WOLF = 6;
+    public static final int FOX = 7;
+    private static final int CATEGORIES = 8;
+
+    private static volatile Row[] byRawId = new Row[0];
+
+    /**
+     * @param category  mob category, one of the category constants in this class
+     * @param identity  identity of the player the mob is looking at, may be null
+     * @return how mobs of the given category treat a player with the given identity, {@link IdentityDispositions#NORMAL} for a null identity
+     */
+    public static int get(int category, LivingEntity identity) {
+        if (identity == null) {
+            return NORMAL;
+        }
+
+        return getRow(identity).dispositions[category];
+    }
+
+    /**
+     * Returns whether the given disposition means the mob should not pick the player as an attack target.
+     *
+     * @param disposition  disposition returned by {@link IdentityDispositions#get(int, LivingEntity)}
+     * @return whether the disposition is {@link IdentityDispositions#IGNORE} or {@link IdentityDispositions#FLEE}
+     */
+    public static boolean ignores(int disposition) {
+        return disposition == IGNORE || disposition == FLEE;
+    }
+
+    /**
+     * Returns the hostile category of the given mob for target goals: {@link IdentityDispositions#CREEPER}, {@link IdentityDispositions#WITHER},
+     * {@link IdentityDispositions#MONSTER}, or -1 for mobs that are not monsters.
+     *
+     * @param mob  mob to categorize
+     * @return hostile category of the mob, or -1
+     */
+    public static int getHostileCategory(MobEntity mob) {
+        if (!(mob instanceof Monster)) {
+            return -1;
+        }
+
+        if (mob instanceof CreeperEntity) {
+            return CREEPER;
+        }
+
+        return mob instanceof WitherEntity ? WITHER : MONSTER;
+    }
+
+    private static Row getRow(LivingEntity identity) {
+        int rawId = Registry.ENTITY_TYPE.getRawId(identity.getType());
+        long traits = IdentityTraits.get(identity);
+        Row[] rows = byRawId;
+
+        if (rawId >= 0 && rawId < rows.length && rows[rawId] != null && rows[rawId].traits == traits) {
+            return rows[rawId];
+        }
+
+        Row row = new Row(traits);
+
+        if (rawId >= 0) {
+            synchronized (IdentityDispositions.class) {
+                Row[] current = byRawId;
+                Row[] updated = Arrays.copyOf(current, Math.max(current.length, Math.max(rawId + 1, Registry.ENTITY_TYPE.getIds().size())));
+                updated[rawId] = row;
+                byRawId = updated;
+            }
+        }
+
+        return row;
+    }
+
+    private static class Row {
+        private final long traits;
+        private final int[] dispositions = new int[CATEGORIES];
+
+        private Row(long traits) {
+            this.traits = traits;
+
+            // hostile mobs should not target players morphed as hostile mobs
+            dispositions[MONSTER] = (traits & IdentityTraits.MONSTER) != 0 ? IGNORE : NORMAL;
+
+            // creepers run from cats, and otherwise follow the hostile mob rule
+            dispositions[CREEPER] = (traits & IdentityTraits.OCELOT) != 0 ? FLEE : dispositions[MONSTER];
+
+            // withers only ignore the undead
+            dispositions[WITHER] = (traits & IdentityTraits.UNDEAD) != 0 ? IGNORE : NORMAL;
+
+            // piglins should not attack piglins or piglin brutes; the hostile mob rule is applied separately through MONSTER
+            dispositions[PIGLIN] = (traits & IdentityTraits.PIGLIN_FRIENDLY) != 0 ? IGNORE : NORMAL;
+            dispositions[HOGLIN] = (traits & IdentityTraits.HOGLIN) != 0 ? IGNORE : NORMAL;
+            dispositions[VILLAGER] = (traits & IdentityTraits.VILLAGER_DANGER) != 0 ? FLEE : NORMAL;
+            dispositions[WOLF] = (traits & IdentityTraits.WOLF_PREY) != 0 ? HUNT : NORMAL;
+
+            // foxes do not flee from foxes, and hunt their prey and fish
+            if ((traits & IdentityTraits.FOX) != 0) {
+                dispositions[FOX] = IGNORE;
+            } else {
+                dispositions[FOX] = (traits & (IdentityTraits.FOX_PREY | IdentityTraits.FISH)) != 0 ? HUNT : NORMAL;
+            }
+        }
+    }
+
+    private IdentityDispositions() {
+        // NO-OP
+    }
+}
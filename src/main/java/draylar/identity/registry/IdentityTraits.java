@@ -0,0 +1,238 @@
+package draylar.identity.registry;
+
+import draylar.identity.mixin.VillagerHostilesSensorAccessor;
+import net.minecraft.entity.EntityGroup;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.mob.GuardianEntity;
+import net.minecraft.entity.mob.HoglinEntity;
+import net.minecraft.entity.mob.Monster;
+import net.minecraft.entity.mob.SpiderEntity;
+import net.minecraft.entity.mob.WaterCreatureEntity;
+import net.minecraft.entity.passive.BatEntity;
+import net.minecraft.entity.passive.DolphinEntity;
+import net.minecraft.entity.passive.FishEntity;
+import net.minecraft.entity.passive.FoxEntity;
+import net.minecraft.entity.passive.OcelotEntity;
+import net.minecraft.tag.EntityTypeTags;
+import net.minecraft.tag.Tag;
+import net.minecraft.tag.TagGroup;
+import net.minecraft.util.registry.Registry;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed behaviour flags for every entity type, stored as a {@code long} bitmask indexed by raw entity type ID.
+ *
+ * <p>Tag-based traits come from {@link EntityTags} and are rebuilt whenever the active entity type tag group changes (startup, /reload, joining a server).
+ * Class-based traits (aquatic, bat, spider, undead, ...) cannot change at runtime, so they are computed once per type from the first identity instance that is queried.
+ *
+ * <p>Usage: {@code IdentityTraits.has(identity, IdentityTraits.SLOW_FALLING)}.
+ */
+public class IdentityTraits {
+
+    // tag traits
+    public static final long BURNS_IN_DAYLIGHT = 1L;
+    public static final long FLYING = 1L << 1;
+    public static final long SLOW_FALLING = 1L << 2;
+    public static final long WOLF_PREY = 1L << 3;
+    public static final long FOX_PREY = 1L << 4;
+    public static final long HURT_BY_HIGH_TEMPERATURE = 1L << 5;
+    public static final long RAVAGER_RIDING = 1L << 6;
+    public static final long PIGLIN_FRIENDLY = 1L << 7;
+    public static final long LAVA_WALKING = 1L << 8;
+    public static final long CANT_SWIM = 1L << 9;
+    public static final long UNDROWNABLE = 1L << 10;
+    public static final long INSTANCE_SIZED = 1L << 11;
+
+    // class traits
+    public static final long AQUATIC = 1L << 32;
+    public static final long WATER_CREATURE = 1L << 33;
+    public static final long BAT = 1L << 34;
+    public static final long SPIDER = 1L << 35;
+    public static final long DOLPHIN = 1L << 36;
+    public static final long FISH = 1L << 37;
+    public static final long MONSTER = 1L << 38;
+    public static final long OCELOT = 1L << 39;
+    public static final long UNDEAD = 1L << 40;
+    public static final long HOGLIN = 1L << 41;
+    public static final long FOX = 1L << 42;
+    public static final long VILLAGER_DANGER = 1L << 43;
+
+    // marks a class trait entry as computed, so types without any class trait are not re-checked
+    private static final long CLASS_COMPUTED = 1L << 63;
+
+    private static final List<Tag<EntityType<?>>> TAGS = Arrays.asList(
+            EntityTags.BURNS_IN_DAYLIGHT,
+            EntityTags.FLYING,
+            EntityTags.SLOW_FALLING,
+            EntityTags.WOLF_PREY,
+            EntityTags.FOX_PREY,
+            EntityTags.HURT_BY_HIGH_TEMPERATURE,
+            EntityTags.RAVAGER_RIDING,
+            EntityTags.PIGLIN_FRIENDLY,
+            EntityTags.LAVA_WALKING,
+            EntityTags.CANT_SWIM,
+            EntityTags.UNDROWNABLE,
+            EntityTags.INSTANCE_SIZED
+    );
+
+    private static volatile TagGroup<EntityType<?>> builtFrom = null;
+    private static volatile long[] tagTraits = new long[0];
+    private static volatile long[] classTraits = new long[0];
+
+    /**
+     * Returns true if the given identity has any of the given traits.
+     *
+     * @param identity  identity to check, may be null
+     * @param traits    one or more trait flags from this class
+     * @return whether the identity has at least one of the given traits, always false for a null identity
+     */
+    public static boolean has(LivingEntity identity, long traits) {
+        return (get(identity) & traits) != 0;
+    }
+
+    /**
+     * @param identity  identity to look up, may be null
+     * @return all trait flags of the given identity, or 0 if it is null
+     */
+    public static long get(LivingEntity identity) {
+        if (identity == null) {
+            return 0;
+        }
+
+        int rawId = Registry.ENTITY_TYPE.getRawId(identity.getType());
+        return getTagTraits(rawId) | getClassTraits(rawId, identity);
+    }
+
+    /**
+     * Returns the tag traits of the given entity type. Class traits are not available without an instance.
+     *
+     * @param type  entity type to look up
+     * @return tag trait flags of the given entity type
+     */
+    public static long get(EntityType<?> type) {
+        return getTagTraits(Registry.ENTITY_TYPE.getRawId(type));
+    }
+
+    private static long getTagTraits(int rawId) {
+        long[] traits = tagTraits;
+
+        if (builtFrom != EntityTypeTags.getTagGroup()) {
+            traits = rebuildTagTraits();
+        }
+
+        return rawId >= 0 && rawId < traits.length ? traits[rawId] : 0;
+    }
+
+    private static synchronized long[] rebuildTagTraits() {
+        TagGroup<EntityType<?>> group = EntityTypeTags.getTagGroup();
+
+        // another thread may have rebuilt for the same group while this one was waiting
+        if (builtFrom == group) {
+            return tagTraits;
+        }
+
+        long[] traits = new long[Registry.ENTITY_TYPE.getIds().size()];
+
+        for (EntityType<?> type : Registry.ENTITY_TYPE) {
+            int rawId = Registry.ENTITY_TYPE.getRawId(type);
+
+            if (rawId >= traits.length) {
+                traits = Arrays.copyOf(traits, rawId + 1);
+            }
+
+            for (int i = 0; i < TAGS.size(); i++) {
+                if (TAGS.get(i).contains(type)) {
+                    traits[rawId] |= 1L << i;
+                }
+            }
+        }
+
+        tagTraits = traits;
+        builtFrom = group;
+        return traits;
+    }
+
+    private static long getClassTraits(int rawId, LivingEntity identity) {
+        long[] traits = classTraits;
+
+        if (rawId >= 0 && rawId < traits.length && (traits[rawId] & CLASS_COMPUTED) != 0) {
+            return traits[rawId] & ~CLASS_COMPUTED;
+        }
+
+        long computed = computeClassTraits(identity);
+
+        if (rawId >= 0) {
+            synchronized (IdentityTraits.class) {
+                // copy on write, readers never see a partially updated array
+                long[] current = classTraits;
+                long[] updated = Arrays.copyOf(current, Math.max(current.length, Math.max(rawId + 1, Registry.ENTITY_TYPE.getIds().size())));
+                updated[rawId] = computed | CLASS_COMPUTED;
+                classTraits = updated;
+            }
+        }
+
+        return computed;
+    }
+
+    private static long computeClassTraits(LivingEntity identity) {
+        long traits = 0;
+
+        if (identity instanceof WaterCreatureEntity || identity instanceof GuardianEntity) {
+            traits |= AQUATIC;
+        }
+
+        if (identity instanceof WaterCreatureEntity) {
+            traits |= WATER_CREATURE;
+        }
+
+        if (identity instanceof BatEntity) {
+            traits |= BAT;
+        }
+
+        if (identity instanceof SpiderEntity) {
+            traits |= SPIDER;
+        }
+
+        if (identity instanceof DolphinEntity) {
+            traits |= DOLPHIN;
+        }
+
+        if (identity instanceof FishEntity) {
+            traits |= FISH;
+        }
+
+        if (identity instanceof Monster) {
+            traits |= MONSTER;
+        }
+
+        if (identity instanceof OcelotEntity) {
+            traits |= OCELOT;
+        }
+
+        if (identity.getGroup() == EntityGroup.UNDEAD) {
+            traits |= UNDEAD;
+        }
+
+        if (identity instanceof HoglinEntity) {
+            traits |= HOGLIN;
+        }
+
+        if (identity instanceof FoxEntity) {
+            traits |= FOX;
+        }
+
+        // types villagers panic from, see VillagerHostilesSensor
+        if (VillagerHostilesSensorAccessor.getSquaredDistancesForDanger().containsKey(identity.getType())) {
+            traits |= VILLAGER_DANGER;
+        }
+
+        return traits;
+    }
+
+    private IdentityTraits() {
+        // NO-OP
+    }
+}
@@ -0,0 +1,77 @@
+package draylar.identity.screen;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client-wide cache of the entities displayed in the identity menu.
+ *
+ * <p>Prototypes are created the first time their type is requested and reused every time the menu is opened afterwards.
+ * The cache belongs to the world the prototypes were created in, and is dropped as soon as the client is in a different world.
+ */
+@Environment(EnvType.CLIENT)
+public class IdentityPrototypes {
+
+    private static final Map<EntityType<?>, LivingEntity> PROTOTYPES = new HashMap<>();
+    private static final Set<EntityType<?>> NON_LIVING = new HashSet<>();
+    private static ClientWorld world = null;
+
+    /**
+     * Returns the menu prototype of the given type, creating it if it has not been requested in the current world yet.
+     *
+     * @param type  type of the prototype
+     * @return prototype of the given type, or null if the type does not create a {@link LivingEntity} or there is no client world
+     */
+    public static LivingEntity get(EntityType<?> type) {
+        ClientWorld current = MinecraftClient.getInstance().world;
+
+        if(current == null) {
+            clear();
+            return null;
+        }
+
+        // prototypes hold a reference to the world they were created in, so they can not outlive it
+        if(current != world) {
+            clear();
+            world = current;
+        }
+
+        LivingEntity prototype = PROTOTYPES.get(type);
+
+        if(prototype == null && !NON_LIVING.contains(type)) {
+            Entity entity = type.create(current);
+
+            if(entity instanceof LivingEntity) {
+                prototype = (LivingEntity) entity;
+                PROTOTYPES.put(type, prototype);
+            } else {
+                NON_LIVING.add(type);
+            }
+        }
+
+        return prototype;
+    }
+
+    /**
+     * Drops all cached prototypes.
+     */
+    public static void clear() {
+        PROTOTYPES.clear();
+        NON_LIVING.clear();
+        world = null;
+    }
+
+    private IdentityPrototypes() {
+        // NO-OP
+    }
+}
@@ -1,6 +1,7 @@
 package draylar.identity.screen;
 
 import com.mojang.blaze3d.systems.RenderSystem;
+import draylar.identity.Identity;
 import draylar.identity.cca.FavoriteIdentitiesComponent;
 import draylar.identity.cca.IdentityComponent;
 import draylar.identity.cca.UnlockedIdentitiesComponent;
@@ -15,22 +16,32 @@ import net.minecraft.client.gui.widget.AbstractButtonWidget;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.util.Window;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.TranslatableText;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.registry.Registry;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 public class IdentityScreen extends Screen {
 
+    private static final int COLUMNS = 7;
+    private static final int TOP = 35;
+
     private final List<LivingEntity> unlocked;
-    private final List<LivingEntity> renderEntities = new ArrayList<>();
+    private final Map<LivingEntity, EntityWidget> createdWidgets = new HashMap<>();
     private final List<EntityWidget> entityWidgets = new ArrayList<>();
+    private final FavoriteIdentitiesComponent favoritesComponent;
+    private final IdentityComponent currentIdentityComponent;
+    private final IdentitySearchIndex searchIndex;
+    private List<LivingEntity> shown;
+    private float scrollOffset = 0;
     private final SearchWidget searchBar = createSearchBar();
     private final PlayerWidget playerButton = createPlayerButton();
     private final ButtonWidget helpButton = createHelpButton();
@@ -40,15 +51,14 @@ public class IdentityScreen extends Screen {
         super(new LiteralText(""));
         super.init(MinecraftClient.getInstance(), MinecraftClient.getInstance().getWindow().getScaledWidth(), MinecraftClient.getInstance().getWindow().getScaledHeight());
 
-        populateRenderEntities();
         addButton(searchBar);
         addButton(playerButton);
         addButton(helpButton);
 
         // get identity components from player
         UnlockedIdentitiesComponent unlockedComponent = Components.UNLOCKED_IDENTITIES.get(MinecraftClient.getInstance().player);
-        FavoriteIdentitiesComponent favoritesComponent = Components.FAVORITE_IDENTITIES.get(MinecraftClient.getInstance().player);
-        IdentityComponent currentIdentityComponent = Components.CURRENT_IDENTITY.get(MinecraftClient.getInstance().player);
+        favoritesComponent = Components.FAVORITE_IDENTITIES.get(MinecraftClient.getInstance().player);
+        currentIdentityComponent = Components.CURRENT_IDENTITY.get(MinecraftClient.getInstance().player);
 
         // collect unlocked entities
         unlocked = collectUnlockedEntities(unlockedComponent);
@@ -68,8 +78,9 @@ public class IdentityScreen extends Screen {
             e.printStackTrace();
         }
 
-        // add entity widgets
-        populateEntityWidgets(unlocked, favoritesComponent, currentIdentityComponent);
+        // index localized names for searching, and add entity widgets for the first visible rows
+        searchIndex = new IdentitySearchIndex(unlocked);
+        setVisible(searchIndex.search(""));
 
         // implement search handler
         searchBar.setChangedListener(text -> {
@@ -77,16 +88,8 @@ public class IdentityScreen extends Screen {
 
             // Only re-filter if the text contents changed
             if(!lastSearchContents.equals(text)) {
-                buttons.removeIf(button -> button instanceof EntityWidget);
-                children.removeIf(button -> button instanceof EntityWidget);
-                entityWidgets.clear();
-
-                List<LivingEntity> filtered = unlocked
-                        .stream()
-                        .filter(livingEntity -> text.isEmpty() || livingEntity.getType().getTranslationKey().contains(text))
-                        .collect(Collectors.toList());
-
-                populateEntityWidgets(filtered, favoritesComponent, currentIdentityComponent);
+                scrollOffset = 0;
+                setVisible(searchIndex.search(text));
             }
 
             lastSearchContents = text;
@@ -131,7 +134,14 @@ public class IdentityScreen extends Screen {
 
     public void renderEntityWidgets(MatrixStack matrices, int mouseX, int mouseY, float delta) {
         double scaledFactor = this.client.getWindow().getScaleFactor();
-        int top = 35;
+        int top = TOP;
+
+        // thumbnails have to be baked before the scissor below is enabled
+        if(Identity.CONFIG.menuThumbnails) {
+            entityWidgets.forEach(EntityWidget::bakeThumbnail);
+        } else {
+            IdentityThumbnails.clear();
+        }
 
         matrices.push();
         RenderSystem.enableScissor(
@@ -140,9 +150,18 @@ public class IdentityScreen extends Screen {
                 (int) ((double) width * scaledFactor),
                 (int) ((double)(this.height -  top) * scaledFactor));
 
-        entityWidgets.forEach(widget -> {
-            widget.render(matrices, mouseX, mouseY, delta);
-        });
+        // all visible previews are drawn in a single flush, overlays go on top of them afterwards
+        ScreenUtils.beginEntityBatch(-10, -10);
+
+        try {
+            entityWidgets.forEach(widget -> {
+                widget.render(matrices, mouseX, mouseY, delta);
+            });
+        } finally {
+            ScreenUtils.drawEntityBatch();
+        }
+
+        entityWidgets.forEach(widget -> widget.renderOverlay(matrices));
 
         RenderSystem.disableScissor();
 
@@ -151,52 +170,60 @@ public class IdentityScreen extends Screen {
 
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
-        float firstPos = entityWidgets.get(0).y;
+        float rowHeight = getRowHeight();
+        int rows = (int) Math.ceil(shown.size() / (float) COLUMNS);
 
         // Top section should always have mobs, prevent scrolling the entire list down the screen
-        if(amount == 1 && firstPos >= 35) {
-            return false;
+        float maxScroll = Math.max(0, rows * rowHeight - (getWindow().getScaledHeight() - TOP));
+        float scrolled = MathHelper.clamp((float) (scrollOffset - amount * 10), 0, maxScroll);
+
+        if(scrolled != scrollOffset) {
+            scrollOffset = scrolled;
+            updateVisibleWidgets();
         }
 
-        buttons.forEach(button -> {
-            if(button instanceof EntityWidget) {
-                button.y = (int) (button.y + amount * 10);
-            }
-        });
+        return false;
+    }
 
+    /**
+     * Updates which unlocked entities are listed, and lays out the listed entities from the start of the grid.
+     * Existing widgets are reused for entities that are listed again.
+     *
+     * @param mask  indices into the unlocked entity list of the entities to list
+     */
+    private void setVisible(BitSet mask) {
+        shown = new ArrayList<>(mask.cardinality());
+
+        for(int index = mask.nextSetBit(0); index >= 0; index = mask.nextSetBit(index + 1)) {
+            shown.add(unlocked.get(index));
+        }
 
-        return false;
+        updateVisibleWidgets();
     }
 
-    private void populateEntityWidgets(List<LivingEntity> unlocked, FavoriteIdentitiesComponent favorites, IdentityComponent current) {
-        // add widget for each unlocked entity
-        int x = 15;
-        int y = 35;
-        int rows = (int) Math.ceil(unlocked.size() / 7f);
-
-        for(int yIndex = 0; yIndex <= rows; yIndex++) {
-            for(int xIndex = 0; xIndex < 7; xIndex++) {
-                int listIndex = yIndex * 7 + xIndex;
-
-                if(listIndex < unlocked.size()) {
-                    LivingEntity livingEntity = unlocked.get(listIndex);
-
-                    // Determine whether this widget should start with the selection outline
-                    boolean isCurrent = false;
-                    if(current.getIdentity() != null && livingEntity.getType().equals(current.getIdentity().getType())) {
-                        isCurrent = true;
-                    }
-
-                    EntityWidget entityWidget = new EntityWidget(
-                            (getWindow().getScaledWidth() - 27) / 7f * xIndex + x,
-                            getWindow().getScaledHeight() / 5f * yIndex + y,
-                            (getWindow().getScaledWidth() - 27) / 7f,
-                            getWindow().getScaledHeight() / 5f,
-                            livingEntity,
-                    this,
-                            favorites.has(livingEntity.getType()),
-                            isCurrent
-                    );
+    /**
+     * Positions the widgets of the rows that are currently on screen, and removes all other widgets from the screen.
+     *
+     * <p>Widgets are created the first time their entity scrolls into view, and kept for the lifetime of the screen so their favorite and selection state survives scrolling.
+     */
+    private void updateVisibleWidgets() {
+        buttons.removeIf(button -> button instanceof EntityWidget);
+        children.removeIf(button -> button instanceof EntityWidget);
+        entityWidgets.clear();
+
+        float columnWidth = getColumnWidth();
+        float rowHeight = getRowHeight();
+        int firstRow = (int) (scrollOffset / rowHeight);
+        int lastRow = (int) Math.ceil((scrollOffset + getWindow().getScaledHeight() - TOP) / rowHeight);
+
+        for(int yIndex = firstRow; yIndex <= lastRow; yIndex++) {
+            for(int xIndex = 0; xIndex < COLUMNS; xIndex++) {
+                int listIndex = yIndex * COLUMNS + xIndex;
+
+                if(listIndex < shown.size()) {
+                    EntityWidget entityWidget = createdWidgets.computeIfAbsent(shown.get(listIndex), this::createEntityWidget);
+                    entityWidget.x = (int) (columnWidth * xIndex + 15);
+                    entityWidget.y = (int) (rowHeight * yIndex + TOP - scrollOffset);
 
                     addButton(entityWidget);
                     entityWidgets.add(entityWidget);
@@ -205,26 +232,45 @@ public class IdentityScreen extends Screen {
         }
     }
 
-    private void populateRenderEntities() {
-        if(renderEntities.isEmpty()) {
-            Registry.ENTITY_TYPE.forEach(type -> {
-                Entity entity = type.create(MinecraftClient.getInstance().world);
-
-                // only add living entities to cache
-                if(entity instanceof LivingEntity) {
-                    renderEntities.add((LivingEntity) entity);
-                }
-            });
+    private EntityWidget createEntityWidget(LivingEntity livingEntity) {
+        // Determine whether this widget should start with the selection outline
+        boolean isCurrent = false;
+        if(currentIdentityComponent.getIdentity() != null && livingEntity.getType().equals(currentIdentityComponent.getIdentity().getType())) {
+            isCurrent = true;
         }
+
+        return new EntityWidget(
+                0,
+                0,
+                getColumnWidth(),
+                getRowHeight(),
+                livingEntity,
+                this,
+                favoritesComponent.has(livingEntity.getType()),
+                isCurrent
+        );
+    }
+
+    private float getColumnWidth() {
+        return (getWindow().getScaledWidth() - 27) / (float) COLUMNS;
+    }
+
+    private float getRowHeight() {
+        return getWindow().getScaledHeight() / 5f;
     }
 
     private List<LivingEntity> collectUnlockedEntities(UnlockedIdentitiesComponent unlockedIdentitys) {
         List<LivingEntity> unlocked = new ArrayList<>();
 
         // collect current unlocked identities (or allow all for creative users)
-        renderEntities.forEach(entity -> {
-            if(unlockedIdentitys.has(entity.getType()) || MinecraftClient.getInstance().player.isCreative()) {
-                unlocked.add(entity);
+        // prototypes are only created for unlocked types, and are shared between menu instances
+        Registry.ENTITY_TYPE.forEach(type -> {
+            if(unlockedIdentitys.has(type) || MinecraftClient.getInstance().player.isCreative()) {
+                LivingEntity entity = IdentityPrototypes.get(type);
+
+                if(entity != null) {
+                    unlocked.add(entity);
+                }
             }
         });
 
@@ -261,7 +307,7 @@ public class IdentityScreen extends Screen {
     }
 
     public void disableAll() {
-        entityWidgets.forEach(button -> button.setActive(false));
+        createdWidgets.values().forEach(button -> button.setActive(false));
     }
 
     @Override
@@ -271,7 +317,7 @@ public class IdentityScreen extends Screen {
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        if(mouseY < 35) {
+        if(mouseY < TOP) {
             return searchBar.mouseClicked(mouseX, mouseY, button) || playerButton.mouseClicked(mouseX, mouseY, button) || helpButton.mouseClicked(mouseX, mouseY, button);
         } else {
             return super.mouseClicked(mouseX, mouseY, button);
@@ -0,0 +1,104 @@
+package draylar.identity.screen;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.entity.LivingEntity;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring index over the localized names of the identities listed in the identity menu.
+ *
+ * <p>Every substring of up to {@link IdentitySearchIndex#GRAM} characters of each name is mapped to the set of entries containing it,
+ * so short queries are a single lookup and longer queries intersect the sets of their n-grams before verifying the remaining candidates.
+ * While the player keeps typing, each query extends the previous one, and only the previous matches are searched.
+ */
+@Environment(EnvType.CLIENT)
+public class IdentitySearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final String[] names;
+    private final Map<String, BitSet> grams = new HashMap<>();
+    private String lastQuery = "";
+    private BitSet lastMatches;
+
+    /**
+     * @param entries  identities to index, in the order their indices should be reported in
+     */
+    public IdentitySearchIndex(List<LivingEntity> entries) {
+        names = new String[entries.size()];
+
+        for(int index = 0; index < names.length; index++) {
+            String name = entries.get(index).getType().getName().getString().toLowerCase(Locale.ROOT);
+            names[index] = name;
+
+            for(int start = 0; start < name.length(); start++) {
+                for(int end = start + 1; end <= Math.min(name.length(), start + GRAM); end++) {
+                    grams.computeIfAbsent(name.substring(start, end), gram -> new BitSet()).set(index);
+                }
+            }
+        }
+
+        lastMatches = all();
+    }
+
+    /**
+     * Returns the entries whose localized name contains the given text, ignoring case.
+     *
+     * @param text  text to search for, an empty string matches every entry
+     * @return indices of the matching entries, owned by the caller
+     */
+    public BitSet search(String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        BitSet matches;
+
+        if(query.isEmpty()) {
+            matches = all();
+        } else if(!lastQuery.isEmpty() && query.startsWith(lastQuery)) {
+            // typing extends the previous query, so only its matches can still match
+            matches = (BitSet) lastMatches.clone();
+            verify(matches, query);
+        } else if(query.length() <= GRAM) {
+            BitSet gram = grams.get(query);
+            matches = gram == null ? new BitSet() : (BitSet) gram.clone();
+        } else {
+            matches = all();
+
+            for(int start = 0; start + GRAM <= query.length() && !matches.isEmpty(); start++) {
+                BitSet gram = grams.get(query.substring(start, start + GRAM));
+
+                if(gram == null) {
+                    matches.clear();
+                } else {
+                    matches.and(gram);
+                }
+            }
+
+            // n-grams can match in a different order than the query, check the remaining candidates
+            verify(matches, query);
+        }
+
+        lastQuery = query;
+        lastMatches = matches;
+        return (BitSet) matches.clone();
+    }
+
+    private void verify(BitSet candidates, String query) {
+        for(int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            if(!names[index].contains(query)) {
+                candidates.clear(index);
+            }
+        }
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(names.length);
+        all.set(0, names.length);
+        return all;
+    }
+}
@@ -0,0 +1,183 @@
+package draylar.identity.screen;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Texture atlas of pre-rendered identity menu previews.
+ *
+ * <p>Each identity type is rendered once into its own square cell of a shared framebuffer, and then drawn as a textured quad every frame.
+ * Cells are rendered at the same scale as the live preview of a menu entry, so the atlas is rebuilt if the entry height changes (for example after a window resize).
+ * Once every cell is in use, additional types are not baked and should be rendered live.
+ *
+ * <p>The atlas is freed when the client changes world or disconnects, and when thumbnails are turned off.
+ */
+@Environment(EnvType.CLIENT)
+public class IdentityThumbnails {
+
+    private static final int CELL = 128;
+    private static final int CELLS_PER_ROW = 16;
+    private static final int ATLAS = CELL * CELLS_PER_ROW;
+
+    private static final Map<EntityType<?>, Integer> SLOTS = new HashMap<>();
+    private static Framebuffer atlas = null;
+    private static int bakedEntryHeight = -1;
+    private static ClientWorld bakedWorld = null;
+
+    /**
+     * Renders the thumbnail of the given identity into the atlas if it has not been rendered yet.
+     *
+     * <p>This binds a different framebuffer and viewport, and must not be called while a scissor is active or a buffer is being built.
+     *
+     * @param entity       identity to render
+     * @param size         scale the identity is rendered at in its menu entry, see {@link ScreenUtils#drawEntity(int, int, int, float, float, LivingEntity)}
+     * @param entryHeight  height of a menu entry, in scaled pixels
+     */
+    public static void bake(LivingEntity entity, int size, int entryHeight) {
+        ClientWorld world = MinecraftClient.getInstance().world;
+
+        if(world != bakedWorld) {
+            clear();
+            bakedWorld = world;
+        }
+
+        if(entryHeight != bakedEntryHeight) {
+            SLOTS.clear();
+            bakedEntryHeight = entryHeight;
+        }
+
+        if(SLOTS.containsKey(entity.getType()) || SLOTS.size() >= CELLS_PER_ROW * CELLS_PER_ROW) {
+            return;
+        }
+
+        if(atlas == null) {
+            atlas = new Framebuffer(ATLAS, ATLAS, true, MinecraftClient.IS_SYSTEM_MAC);
+            atlas.setClearColor(0, 0, 0, 0);
+            atlas.clear(MinecraftClient.IS_SYSTEM_MAC);
+        }
+
+        int slot = SLOTS.size();
+        int cellX = (slot % CELLS_PER_ROW) * CELL;
+        int cellY = (slot / CELLS_PER_ROW) * CELL;
+
+        // clear only the cell, the rest of the atlas is still in use
+        atlas.beginWrite(false);
+        RenderSystem.viewport(cellX, cellY, CELL, CELL);
+        RenderSystem.enableScissor(cellX, cellY, CELL, CELL);
+        RenderSystem.clearColor(0, 0, 0, 0);
+        RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, MinecraftClient.IS_SYSTEM_MAC);
+        RenderSystem.disableScissor();
+
+        // same projection as the GUI, mapped onto a single entry-sized square
+        RenderSystem.matrixMode(GL11.GL_PROJECTION);
+        RenderSystem.pushMatrix();
+        RenderSystem.loadIdentity();
+        RenderSystem.ortho(0.0D, CELL, CELL, 0.0D, 1000.0D, 3000.0D);
+        RenderSystem.matrixMode(GL11.GL_MODELVIEW);
+        RenderSystem.pushMatrix();
+        RenderSystem.loadIdentity();
+        RenderSystem.translatef(0.0F, 0.0F, -2000.0F);
+
+        ScreenUtils.drawEntity(CELL / 2, (int) (CELL * .75f), size * CELL / entryHeight, -10, -10, entity, 15728880);
+
+        RenderSystem.popMatrix();
+        RenderSystem.matrixMode(GL11.GL_PROJECTION);
+        RenderSystem.popMatrix();
+        RenderSystem.matrixMode(GL11.GL_MODELVIEW);
+        MinecraftClient.getInstance().getFramebuffer().beginWrite(true);
+
+        SLOTS.put(entity.getType(), slot);
+    }
+
+    /**
+     * Draws the thumbnail of the given identity as a square with the same height as its menu entry, centered on the entry.
+     *
+     * @param matrices  matrices to draw with
+     * @param entity    identity to draw
+     * @param x         left of the menu entry
+     * @param y         top of the menu entry
+     * @param width     width of the menu entry
+     * @param height    height of the menu entry
+     * @return whether a thumbnail was drawn, false if the identity has not been baked
+     */
+    public static boolean draw(MatrixStack matrices, LivingEntity entity, int x, int y, int width, int height) {
+        Integer slot = SLOTS.get(entity.getType());
+
+        if(slot == null || atlas == null || height != bakedEntryHeight) {
+            return false;
+        }
+
+        float left = x + width / 2f - height / 2f;
+        float right = left + height;
+        float u0 = (float) ((slot % CELLS_PER_ROW) * CELL) / ATLAS;
+        float u1 = u0 + (float) CELL / ATLAS;
+
+        // framebuffer rows start at the bottom, so the top of the cell is the higher v
+        float vBottom = (float) ((slot / CELLS_PER_ROW) * CELL) / ATLAS;
+        float vTop = vBottom + (float) CELL / ATLAS;
+
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        atlas.beginRead();
+
+        Matrix4f matrix = matrices.peek().getModel();
+        BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+        buffer.begin(GL11.GL_QUADS, VertexFormats.POSITION_TEXTURE);
+        buffer.vertex(matrix, left, y + height, 0).texture(u0, vBottom).next();
+        buffer.vertex(matrix, right, y + height, 0).texture(u1, vBottom).next();
+        buffer.vertex(matrix, right, y, 0).texture(u1, vTop).next();
+        buffer.vertex(matrix, left, y, 0).texture(u0, vTop).next();
+        buffer.end();
+        RenderSystem.enableAlphaTest();
+        BufferRenderer.draw(buffer);
+
+        atlas.endRead();
+        RenderSystem.disableBlend();
+        return true;
+    }
+
+    /**
+     * Frees the atlas once the client is no longer in the world it was baked in. Called every client tick.
+     *
+     * @param client  client instance
+     */
+    public static void tick(MinecraftClient client) {
+        if(atlas != null && client.world != bakedWorld) {
+            clear();
+        }
+    }
+
+    /**
+     * Frees the atlas framebuffer and forgets every baked thumbnail. Must be called on the render thread.
+     */
+    public static void clear() {
+        if(atlas != null) {
+            atlas.delete();
+            atlas = null;
+        }
+
+        SLOTS.clear();
+        bakedEntryHeight = -1;
+        bakedWorld = null;
+    }
+
+    private IdentityThumbnails() {
+        // NO-OP
+    }
+}
@@ -1,6 +1,5 @@
 package draylar.identity.screen;
 
-import com.mojang.blaze3d.systems.RenderSystem;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.MinecraftClient;
@@ -14,46 +13,118 @@ import net.minecraft.util.math.Quaternion;
 @Environment(EnvType.CLIENT)
 public class ScreenUtils {
 
+    private static boolean batching = false;
+    private static float batchYaw;
+    private static float batchPitch;
+    private static Quaternion batchRotation;
+    private static Quaternion previousRotation;
+
     public static void drawEntity(int x, int y, int size, float mouseX, float mouseY, LivingEntity entity) {
         drawEntity(x, y, size, mouseX, mouseY, entity, 15728880);
     }
 
     public static void drawEntity(int x, int y, int size, float mouseX, float mouseY, LivingEntity entity, int light) {
-        float f = (float)Math.atan((double)(mouseX / 40.0F));
-        float g = (float)Math.atan((double)(mouseY / 40.0F));
-        RenderSystem.pushMatrix();
-        RenderSystem.translatef((float)x, (float)y, 1050.0F);
-        RenderSystem.scalef(1.0F, 1.0F, -1.0F);
+        beginEntityBatch(mouseX, mouseY);
+
+        try {
+            queueEntity(x, y, size, entity, light);
+        } finally {
+            drawEntityBatch();
+        }
+    }
+
+    /**
+     * Starts a batch of entity previews that all look towards the same mouse position.
+     *
+     * <p>Entities queued with {@link ScreenUtils#queueEntity(int, int, int, LivingEntity, int)} are written to the shared entity buffers,
+     * and drawn together by {@link ScreenUtils#drawEntityBatch()}. The render dispatcher rotation and shadow state are set once for the whole batch.
+     * Callers must end the batch in a finally block, so a failing entity renderer can not leave the batch open.
+     *
+     * @param mouseX  horizontal mouse offset the entities look towards
+     * @param mouseY  vertical mouse offset the entities look towards
+     */
+    public static void beginEntityBatch(float mouseX, float mouseY) {
+        if(batching) {
+            throw new IllegalStateException("Entity preview batch already started");
+        }
+
+        batching = true;
+        batchYaw = (float)Math.atan((double)(mouseX / 40.0F));
+        batchPitch = (float)Math.atan((double)(mouseY / 40.0F));
+        batchRotation = Vector3f.POSITIVE_Z.getDegreesQuaternion(180.0F);
+        Quaternion pitchRotation = Vector3f.POSITIVE_X.getDegreesQuaternion(batchPitch * 20.0F);
+        batchRotation.hamiltonProduct(pitchRotation);
+
+        EntityRenderDispatcher entityRenderDispatcher = MinecraftClient.getInstance().getEntityRenderDispatcher();
+        previousRotation = entityRenderDispatcher.getRotation();
+        pitchRotation.conjugate();
+        entityRenderDispatcher.setRotation(pitchRotation);
+        entityRenderDispatcher.setRenderShadows(false);
+    }
+
+    /**
+     * Writes an entity preview to the current batch.
+     *
+     * <p>The screen position is folded into the entity's matrices, so no render state has to be changed until the batch is drawn.
+     *
+     * @param x       horizontal center of the preview
+     * @param y       bottom of the preview
+     * @param size    scale of the preview
+     * @param entity  entity to preview
+     * @param light   packed light the entity is rendered with
+     */
+    public static void queueEntity(int x, int y, int size, LivingEntity entity, int light) {
+        if(!batching) {
+            throw new IllegalStateException("Entity preview batch not started");
+        }
+
         MatrixStack matrixStack = new MatrixStack();
+        matrixStack.translate((double)x, (double)y, 1050.0D);
+        matrixStack.scale(1.0F, 1.0F, -1.0F);
         matrixStack.translate(0.0D, 0.0D, 1000.0D);
         matrixStack.scale((float)size, (float)size, (float)size);
-        Quaternion quaternion = Vector3f.POSITIVE_Z.getDegreesQuaternion(180.0F);
-        Quaternion quaternion2 = Vector3f.POSITIVE_X.getDegreesQuaternion(g * 20.0F);
-        quaternion.hamiltonProduct(quaternion2);
-        matrixStack.multiply(quaternion);
+        matrixStack.multiply(batchRotation);
         float h = entity.bodyYaw;
         float i = entity.yaw;
         float j = entity.pitch;
         float k = entity.prevHeadYaw;
         float l = entity.headYaw;
-        entity.bodyYaw = 180.0F + f * 20.0F;
-        entity.yaw = 180.0F + f * 40.0F;
-        entity.pitch = -g * 20.0F;
+        entity.bodyYaw = 180.0F + batchYaw * 20.0F;
+        entity.yaw = 180.0F + batchYaw * 40.0F;
+        entity.pitch = -batchPitch * 20.0F;
         entity.headYaw = entity.yaw;
         entity.prevHeadYaw = entity.yaw;
-        EntityRenderDispatcher entityRenderDispatcher = MinecraftClient.getInstance().getEntityRenderDispatcher();
-        quaternion2.conjugate();
-        entityRenderDispatcher.setRotation(quaternion2);
-        entityRenderDispatcher.setRenderShadows(false);
         VertexConsumerProvider.Immediate immediate = MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers();
-        entityRenderDispatcher.render(entity, 0.0D, 0.0D, 0.0D, 0.0F, 1.0F, matrixStack, immediate, light);
-        immediate.draw();
-        entityRenderDispatcher.setRenderShadows(true);
-        entity.bodyYaw = h;
-        entity.yaw = i;
-        entity.pitch = j;
-        entity.prevHeadYaw = k;
-        entity.headYaw = l;
-        RenderSystem.popMatrix();
+
+        try {
+            MinecraftClient.getInstance().getEntityRenderDispatcher().render(entity, 0.0D, 0.0D, 0.0D, 0.0F, 1.0F, matrixStack, immediate, light);
+        } finally {
+            // vertices are already built, so the entity can be restored before the batch is drawn
+            entity.bodyYaw = h;
+            entity.yaw = i;
+            entity.pitch = j;
+            entity.prevHeadYaw = k;
+            entity.headYaw = l;
+        }
+    }
+
+    /**
+     * Draws every entity queued since {@link ScreenUtils#beginEntityBatch(float, float)} in a single flush, and restores the render dispatcher state.
+     */
+    public static void drawEntityBatch() {
+        if(!batching) {
+            throw new IllegalStateException("Entity preview batch not started");
+        }
+
+        try {
+            MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers().draw();
+        } finally {
+            EntityRenderDispatcher entityRenderDispatcher = MinecraftClient.getInstance().getEntityRenderDispatcher();
+            entityRenderDispatcher.setRenderShadows(true);
+            entityRenderDispatcher.setRotation(previousRotation);
+            previousRotation = null;
+            batchRotation = null;
+            batching = false;
+        }
     }
 }
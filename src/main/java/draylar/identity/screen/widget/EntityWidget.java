@@ -3,19 +3,16 @@ package draylar.identity.screen.widget;
 import draylar.identity.Identity;
 import draylar.identity.network.ClientNetworking;
 import draylar.identity.screen.IdentityScreen;
+import draylar.identity.screen.IdentityThumbnails;
 import draylar.identity.screen.ScreenUtils;
-import io.netty.buffer.Unpooled;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawableHelper;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.AbstractPressableButtonWidget;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.network.PacketByteBuf;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.TranslatableText;
-import net.minecraft.util.registry.Registry;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -45,9 +42,7 @@ public class EntityWidget extends AbstractPressableButtonWidget {
         if(bl) {
             // Update current Identity
             if(button == 0) {
-                PacketByteBuf packet = new PacketByteBuf(Unpooled.buffer());
-                packet.writeIdentifier(Registry.ENTITY_TYPE.getId(entity.getType()));
-                ClientSidePacketRegistry.INSTANCE.sendToServer(ClientNetworking.IDENTITY_REQUEST, packet);
+                ClientNetworking.sendIdentityRequest(entity.getType());
                 parent.disableAll();
                 active = true;
             }
@@ -64,10 +59,7 @@ public class EntityWidget extends AbstractPressableButtonWidget {
                 }
 
                 // Update server with information on favorite
-                PacketByteBuf packet = new PacketByteBuf(Unpooled.buffer());
-                packet.writeIdentifier(Registry.ENTITY_TYPE.getId(entity.getType()));
-                packet.writeBoolean(favorite);
-                ClientSidePacketRegistry.INSTANCE.sendToServer(ClientNetworking.FAVORITE_UPDATE, packet);
+                ClientNetworking.sendFavoriteUpdate(entity.getType(), favorite);
 
                 // TODO: re-sort screen?
             }
@@ -80,18 +72,10 @@ public class EntityWidget extends AbstractPressableButtonWidget {
     public void render(MatrixStack matrices, int mouseX, int mouseY, float delta) {
         super.render(matrices, mouseX, mouseY, delta);
 
-        ScreenUtils.drawEntity(x + this.getWidth() / 2, (int) (y + this.getHeight() * .75f), size, -10, -10, entity, 15728880);
-
-        // Render selected outline
-        if(active) {
-            MinecraftClient.getInstance().getTextureManager().bindTexture(Identity.id("textures/gui/selected.png"));
-            DrawableHelper.drawTexture(matrices, x, y, getWidth(), getHeight(), 0, 0, 48, 32, 48, 32);
-        }
-
-        // Render favorite star
-        if(starred) {
-            MinecraftClient.getInstance().getTextureManager().bindTexture(Identity.id("textures/gui/star.png"));
-            DrawableHelper.drawTexture(matrices, x, y, 0, 0, 15, 15, 15, 15);
+        // Only the hovered and selected entries are rendered live in thumbnail mode
+        boolean thumbnail = Identity.CONFIG.menuThumbnails && !isHovered() && !active && IdentityThumbnails.draw(matrices, entity, x, y, getWidth(), getHeight());
+        if(!thumbnail) {
+            ScreenUtils.queueEntity(x + this.getWidth() / 2, (int) (y + this.getHeight() * .75f), size, entity, 15728880);
         }
 
         // Draw tooltip
@@ -106,11 +90,37 @@ public class EntityWidget extends AbstractPressableButtonWidget {
 //        }
     }
 
+    /**
+     * Renders the selection outline and favorite star on top of the entity preview.
+     * Called by {@link IdentityScreen} after the entity preview batch started with {@link ScreenUtils#beginEntityBatch(float, float)} has been drawn.
+     */
+    public void renderOverlay(MatrixStack matrices) {
+        // Render selected outline
+        if(active) {
+            MinecraftClient.getInstance().getTextureManager().bindTexture(Identity.id("textures/gui/selected.png"));
+            DrawableHelper.drawTexture(matrices, x, y, getWidth(), getHeight(), 0, 0, 48, 32, 48, 32);
+        }
+
+        // Render favorite star
+        if(starred) {
+            MinecraftClient.getInstance().getTextureManager().bindTexture(Identity.id("textures/gui/star.png"));
+            DrawableHelper.drawTexture(matrices, x, y, 0, 0, 15, 15, 15, 15);
+        }
+    }
+
     @Override
     public void renderButton(MatrixStack matrices, int mouseX, int mouseY, float delta) {
 
     }
 
+    /**
+     * Renders this entry's identity into the thumbnail atlas if it is not there yet.
+     * Must be called outside of any scissor, see {@link IdentityThumbnails#bake(LivingEntity, int, int)}.
+     */
+    public void bakeThumbnail() {
+        IdentityThumbnails.bake(entity, size, getHeight());
+    }
+
     public void setActive(boolean active) {
         this.active = active;
     }
@@ -3,16 +3,12 @@ package draylar.identity.screen.widget;
 import draylar.identity.Identity;
 import draylar.identity.network.ClientNetworking;
 import draylar.identity.screen.IdentityScreen;
-import io.netty.buffer.Unpooled;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawableHelper;
 import net.minecraft.client.gui.widget.AbstractPressableButtonWidget;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.EntityType;
-import net.minecraft.network.PacketByteBuf;
 import net.minecraft.text.LiteralText;
-import net.minecraft.util.registry.Registry;
 
 public class PlayerWidget extends AbstractPressableButtonWidget {
 
@@ -48,9 +44,7 @@ public class PlayerWidget extends AbstractPressableButtonWidget {
 
     @Override
     public void onPress() {
-        PacketByteBuf packet = new PacketByteBuf(Unpooled.buffer());
-        packet.writeIdentifier(Registry.ENTITY_TYPE.getId(EntityType.PLAYER));
-        ClientSidePacketRegistry.INSTANCE.sendToServer(ClientNetworking.IDENTITY_REQUEST, packet);
+        ClientNetworking.sendIdentityRequest(EntityType.PLAYER);
         parent.disableAll();
     }
 }